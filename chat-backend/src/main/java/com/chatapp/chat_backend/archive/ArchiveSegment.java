@@ -0,0 +1,268 @@
+package com.chatapp.chat_backend.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.chatapp.chat_backend.entity.ChatMessage;
+
+/**
+ * 오래된 메시지를 모아 둔 압축 세그먼트 파일 하나 (불변)
+ *
+ * 파일 두 개로 구성된다.
+ * - {firstSeq}-{lastSeq}.seg: 메시지 blockSize개씩 묶어 Deflate로 압축한 블록을 이어 붙인 파일
+ * - {firstSeq}-{lastSeq}.idx: 블록마다 (seq 범위, id 최솟값/최댓값, 파일 내 위치, 길이)를 적은 희소 인덱스
+ *
+ * id는 DB 저장(insert) 순서로 매겨지고 seq는 저장 전에 발급되므로, 같은 방 안에서도 id 순서가 seq 순서와
+ * 다를 수 있다. 그래서 블록의 id 범위는 첫/마지막 메시지가 아니라 실제 최솟값/최댓값으로 기록하고,
+ * id로 찾을 때는 범위가 겹치는 블록을 모두 확인한다.
+ *
+ * 읽을 때는 .seg 파일을 메모리 매핑(MappedByteBuffer)해 두고, 인덱스에서 찾은 블록 하나만 풀어서 읽는다.
+ * 파일 내용은 OS 페이지 캐시가 관리하므로 힙을 차지하지 않는다.
+ *
+ * 블록 안의 레코드 형식: id, seq, createdAt(epoch millis), sender, content, clientMessageId("" = 없음)
+ */
+final class ArchiveSegment {
+
+    private static final int INDEX_MAGIC = 0x43484132; // "CHA2"
+
+    final long firstSeq;
+    final long lastSeq;
+
+    private final long[] blockFirstSeq;
+    private final long[] blockLastSeq;
+    private final long[] blockMinId;
+    private final long[] blockMaxId;
+    private final long[] blockOffset;
+    private final int[] blockLength;
+    private final int[] blockRawLength;
+    private final MappedByteBuffer data;
+
+    private ArchiveSegment(long[] blockFirstSeq, long[] blockLastSeq, long[] blockMinId, long[] blockMaxId,
+            long[] blockOffset, int[] blockLength, int[] blockRawLength, MappedByteBuffer data) {
+        this.blockFirstSeq = blockFirstSeq;
+        this.blockLastSeq = blockLastSeq;
+        this.blockMinId = blockMinId;
+        this.blockMaxId = blockMaxId;
+        this.blockOffset = blockOffset;
+        this.blockLength = blockLength;
+        this.blockRawLength = blockRawLength;
+        this.data = data;
+        this.firstSeq = blockFirstSeq[0];
+        this.lastSeq = blockLastSeq[blockLastSeq.length - 1];
+    }
+
+    /**
+     * seq 오름차순 메시지로 새 세그먼트를 쓴다.
+     * 임시 파일에 쓴 뒤 .idx, .seg 순서로 이름을 바꾸므로, .seg가 보이면 인덱스도 완성되어 있다.
+     */
+    static ArchiveSegment write(Path roomDir, List<ChatMessage> messages, int blockSize) throws IOException {
+        Files.createDirectories(roomDir);
+        String name = messages.get(0).getSeq() + "-" + messages.get(messages.size() - 1).getSeq();
+        Path segPath = roomDir.resolve(name + ".seg");
+        Path idxPath = roomDir.resolve(name + ".idx");
+        Path segTemp = roomDir.resolve(name + ".seg.tmp");
+        Path idxTemp = roomDir.resolve(name + ".idx.tmp");
+
+        int blocks = (messages.size() + blockSize - 1) / blockSize;
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        indexOut.writeInt(INDEX_MAGIC);
+        indexOut.writeInt(blocks);
+
+        Deflater deflater = new Deflater();
+        try (FileChannel out = FileChannel.open(segTemp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long offset = 0;
+            for (int from = 0; from < messages.size(); from += blockSize) {
+                List<ChatMessage> block = messages.subList(from, Math.min(from + blockSize, messages.size()));
+                byte[] raw = encode(block);
+                byte[] compressed = compress(deflater, raw);
+                ByteBuffer buffer = ByteBuffer.wrap(compressed);
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+
+                indexOut.writeLong(block.get(0).getSeq());
+                indexOut.writeLong(block.get(block.size() - 1).getSeq());
+                long minId = Long.MAX_VALUE;
+                long maxId = Long.MIN_VALUE;
+                for (ChatMessage message : block) {
+                    minId = Math.min(minId, message.getId());
+                    maxId = Math.max(maxId, message.getId());
+                }
+                indexOut.writeLong(minId);
+                indexOut.writeLong(maxId);
+                indexOut.writeLong(offset);
+                indexOut.writeInt(compressed.length);
+                indexOut.writeInt(raw.length);
+                offset += compressed.length;
+            }
+            out.force(true);
+        } finally {
+            deflater.end();
+        }
+        indexOut.flush();
+        Files.write(idxTemp, index.toByteArray());
+
+        Files.move(idxTemp, idxPath, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(segTemp, segPath, StandardCopyOption.ATOMIC_MOVE);
+        return open(segPath, idxPath);
+    }
+
+    static ArchiveSegment open(Path segPath, Path idxPath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(idxPath)))) {
+            int magic = in.readInt();
+            if (magic != INDEX_MAGIC) {
+                throw new IOException("세그먼트 인덱스 형식이 올바르지 않습니다: " + idxPath);
+            }
+            int blocks = in.readInt();
+            long[] firstSeq = new long[blocks];
+            long[] lastSeq = new long[blocks];
+            long[] minId = new long[blocks];
+            long[] maxId = new long[blocks];
+            long[] offset = new long[blocks];
+            int[] length = new int[blocks];
+            int[] rawLength = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstSeq[i] = in.readLong();
+                lastSeq[i] = in.readLong();
+                minId[i] = in.readLong();
+                maxId[i] = in.readLong();
+                offset[i] = in.readLong();
+                length[i] = in.readInt();
+                rawLength[i] = in.readInt();
+            }
+
+            MappedByteBuffer data;
+            try (FileChannel channel = FileChannel.open(segPath, StandardOpenOption.READ)) {
+                // 매핑은 채널을 닫아도 유지된다.
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            return new ArchiveSegment(firstSeq, lastSeq, minId, maxId, offset, length, rawLength, data);
+        }
+    }
+
+    int blockCount() {
+        return blockFirstSeq.length;
+    }
+
+    long blockFirstSeq(int block) {
+        return blockFirstSeq[block];
+    }
+
+    long blockLastSeq(int block) {
+        return blockLastSeq[block];
+    }
+
+    /**
+     * seq를 포함하거나 seq보다 뒤에 오는 첫 블록 (없으면 blockCount())
+     */
+    int blockAtOrAfterSeq(long seq) {
+        int low = 0;
+        int high = blockLastSeq.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blockLastSeq[mid] < seq) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 블록의 id 범위(최솟값~최댓값)에 id가 들어가는지 여부
+     * 블록끼리 id 범위가 겹칠 수 있으므로, 찾는 쪽은 true인 블록을 모두 확인해야 한다.
+     */
+    boolean blockMayContainId(int block, long id) {
+        return blockMinId[block] <= id && id <= blockMaxId[block];
+    }
+
+    /**
+     * 블록 하나를 풀어 seq 오름차순 메시지 목록으로 반환한다.
+     */
+    List<ChatMessage> readBlock(int block, Long roomId) throws IOException {
+        ByteBuffer compressed = data.slice((int) blockOffset[block], blockLength[block]);
+        byte[] raw = new byte[blockRawLength[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("세그먼트 블록을 풀 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+        return decode(raw, roomId);
+    }
+
+    private static byte[] encode(List<ChatMessage> block) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(block.size());
+        for (ChatMessage message : block) {
+            out.writeLong(message.getId());
+            out.writeLong(message.getSeq());
+            out.writeLong(message.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            out.writeUTF(message.getSender());
+            out.writeUTF(message.getContent());
+            out.writeUTF(message.getClientMessageId() == null ? "" : message.getClientMessageId());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ChatMessage> decode(byte[] raw, Long roomId) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int count = in.readInt();
+        List<ChatMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ChatMessage message = new ChatMessage();
+            message.setRoomId(roomId);
+            message.setId(in.readLong());
+            message.setSeq(in.readLong());
+            message.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC));
+            message.setSender(in.readUTF());
+            message.setContent(in.readUTF());
+            String clientMessageId = in.readUTF();
+            message.setClientMessageId(clientMessageId.isEmpty() ? null : clientMessageId);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static byte[] compress(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int written = deflater.deflate(chunk);
+            out.write(chunk, 0, written);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,194 @@
+package com.chatapp.chat_backend.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.chatapp.chat_backend.entity.ChatMessage;
+
+/**
+ * 오래된(cold) 채팅 메시지 보관소
+ *
+ * 방마다 디렉터리(room-{roomId})를 두고, 압축된 세그먼트 파일(ArchiveSegment)을 seq 순서대로 추가만 한다.
+ * 한 번 쓴 세그먼트는 수정하지 않는다. 방의 보관된 메시지는 항상 DB에 남은 메시지보다 seq가 작다.
+ *
+ * 서버 시작 시 디렉터리를 훑어 세그먼트를 메모리 매핑으로 열어 둔다.
+ * 조회는 세그먼트의 희소 인덱스로 필요한 블록만 찾아 풀어서 읽는다.
+ */
+@Component
+public class MessageArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageArchive.class);
+
+    private static final String ROOM_DIR_PREFIX = "room-";
+
+    private final Path archiveDir;
+    private final int blockSize;
+
+    // roomId -> seq 오름차순 세그먼트 목록 (불변 리스트로 교체만 한다)
+    private final ConcurrentHashMap<Long, List<ArchiveSegment>> rooms = new ConcurrentHashMap<>();
+
+    public MessageArchive(@Value("${chat.archive.dir:./data/archive}") String archiveDir,
+            @Value("${chat.archive.block-messages:256}") int blockSize) throws IOException {
+        this.archiveDir = Paths.get(archiveDir).toAbsolutePath().normalize();
+        this.blockSize = blockSize;
+        Files.createDirectories(this.archiveDir);
+        load();
+    }
+
+    /**
+     * 방에서 보관된 마지막 seq (보관된 메시지가 없으면 0)
+     */
+    public long lastArchivedSeq(Long roomId) {
+        List<ArchiveSegment> segments = rooms.getOrDefault(roomId, List.of());
+        return segments.isEmpty() ? 0L : segments.get(segments.size() - 1).lastSeq;
+    }
+
+    /**
+     * seq 오름차순 메시지를 새 세그먼트로 추가한다. (이미 보관된 seq 이후여야 한다)
+     * 보관 작업 스레드 하나에서만 호출된다고 가정한다.
+     */
+    public void append(Long roomId, List<ChatMessage> messages) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        if (messages.get(0).getSeq() <= lastArchivedSeq(roomId)) {
+            throw new IllegalArgumentException("이미 보관된 seq 이후의 메시지만 추가할 수 있습니다.");
+        }
+        ArchiveSegment segment = ArchiveSegment.write(roomDir(roomId), messages, blockSize);
+        List<ArchiveSegment> next = new ArrayList<>(rooms.getOrDefault(roomId, List.of()));
+        next.add(segment);
+        rooms.put(roomId, List.copyOf(next));
+    }
+
+    /**
+     * beforeSeq보다 작은 보관 메시지를 최신순(seq 내림차순)으로 최대 limit개 반환한다.
+     */
+    public List<ChatMessage> readBefore(Long roomId, long beforeSeq, int limit) {
+        List<ChatMessage> result = new ArrayList<>();
+        List<ArchiveSegment> segments = rooms.getOrDefault(roomId, List.of());
+        for (int s = segments.size() - 1; s >= 0 && result.size() < limit; s--) {
+            ArchiveSegment segment = segments.get(s);
+            if (segment.firstSeq >= beforeSeq) {
+                continue;
+            }
+            int block = Math.min(segment.blockAtOrAfterSeq(beforeSeq), segment.blockCount() - 1);
+            for (; block >= 0 && result.size() < limit; block--) {
+                List<ChatMessage> messages = read(segment, block, roomId);
+                for (int i = messages.size() - 1; i >= 0 && result.size() < limit; i--) {
+                    if (messages.get(i).getSeq() < beforeSeq) {
+                        result.add(messages.get(i));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * afterSeq보다 큰 보관 메시지를 seq 오름차순으로 최대 limit개 반환한다.
+     */
+    public List<ChatMessage> readAfter(Long roomId, long afterSeq, int limit) {
+        List<ChatMessage> result = new ArrayList<>();
+        for (ArchiveSegment segment : rooms.getOrDefault(roomId, List.of())) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (segment.lastSeq <= afterSeq) {
+                continue;
+            }
+            for (int block = segment.blockAtOrAfterSeq(afterSeq + 1); block < segment.blockCount()
+                    && result.size() < limit; block++) {
+                for (ChatMessage message : read(segment, block, roomId)) {
+                    if (message.getSeq() > afterSeq && result.size() < limit) {
+                        result.add(message);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 메시지 id로 보관 메시지를 찾는다. (검색 결과 중 DB에서 빠진 메시지 조회용)
+     * 블록끼리 id 범위가 겹칠 수 있으므로 범위에 들어가는 블록을 모두 확인한다. (인덱스만 보고 거른다)
+     */
+    public ChatMessage findById(Long roomId, long messageId) {
+        for (ArchiveSegment segment : rooms.getOrDefault(roomId, List.of())) {
+            for (int block = 0; block < segment.blockCount(); block++) {
+                if (!segment.blockMayContainId(block, messageId)) {
+                    continue;
+                }
+                for (ChatMessage message : read(segment, block, roomId)) {
+                    if (message.getId() == messageId) {
+                        return message;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 보관된 모든 메시지를 방별 seq 순서로 하나씩 넘겨준다. (검색 색인 재구성용)
+     */
+    public void forEach(Consumer<ChatMessage> consumer) {
+        for (Map.Entry<Long, List<ArchiveSegment>> room : rooms.entrySet()) {
+            for (ArchiveSegment segment : room.getValue()) {
+                for (int block = 0; block < segment.blockCount(); block++) {
+                    read(segment, block, room.getKey()).forEach(consumer);
+                }
+            }
+        }
+    }
+
+    private List<ChatMessage> read(ArchiveSegment segment, int block, Long roomId) {
+        try {
+            return segment.readBlock(block, roomId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path roomDir(Long roomId) {
+        return archiveDir.resolve(ROOM_DIR_PREFIX + roomId);
+    }
+
+    /**
+     * 보관 디렉터리의 세그먼트를 모두 연다. .idx가 없는 .seg(쓰다가 중단된 파일)는 무시한다.
+     */
+    private void load() throws IOException {
+        try (DirectoryStream<Path> roomDirs = Files.newDirectoryStream(archiveDir, ROOM_DIR_PREFIX + "*")) {
+            for (Path roomDir : roomDirs) {
+                Long roomId = Long.valueOf(roomDir.getFileName().toString().substring(ROOM_DIR_PREFIX.length()));
+                List<ArchiveSegment> segments = new ArrayList<>();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(roomDir, "*.seg")) {
+                    for (Path seg : files) {
+                        String name = seg.getFileName().toString();
+                        Path idx = roomDir.resolve(name.substring(0, name.length() - ".seg".length()) + ".idx");
+                        if (Files.exists(idx)) {
+                            segments.add(ArchiveSegment.open(seg, idx));
+                        }
+                    }
+                }
+                segments.sort(Comparator.comparingLong(segment -> segment.firstSeq));
+                rooms.put(roomId, List.copyOf(segments));
+            }
+        }
+        log.info("메시지 보관소 로드 완료: {}개 방", rooms.size());
+    }
+}
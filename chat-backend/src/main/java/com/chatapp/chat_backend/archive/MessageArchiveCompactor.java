@@ -0,0 +1,102 @@
+package com.chatapp.chat_backend.archive;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chatapp.chat_backend.entity.ChatMessage;
+import com.chatapp.chat_backend.repository.ChatMessageRepository;
+
+/**
+ * 오래된 메시지를 DB(chat_messages)에서 보관소(MessageArchive)로 옮기는 주기 작업
+ *
+ * 방마다 threshold-days보다 오래된 메시지 중 가장 큰 seq(cutoffSeq)를 구하고,
+ * 이미 보관된 seq 다음부터 cutoffSeq까지를 segment-messages개씩 세그먼트로 쓴 뒤 DB에서 지운다.
+ *
+ * 세그먼트는 segment-messages개가 모였을 때만 쓴다. 매 실행마다 그 사이 기준을 넘긴 몇 건씩 쓰면
+ * 활발한 방에 작은 세그먼트가 하루 수십 개씩 쌓이고, 시작 시 모두 메모리 매핑하게 되기 때문이다.
+ * 다만 메시지가 적은 방은 다 채워지지 않을 수 있으므로, 남은 구간의 가장 오래된 메시지가
+ * threshold-days + partial-wait-days보다 오래되면 모자라도 세그먼트로 쓴다.
+ *
+ * - 시간이 아니라 seq 구간으로 옮기기 때문에 보관소와 DB 사이에 빈 seq가 생기지 않는다.
+ * - 세그먼트를 쓴 뒤 삭제 전에 서버가 멈추면, 다음 실행 때 이미 보관된 구간은 삭제만 한다.
+ */
+@Component
+public class MessageArchiveCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageArchiveCompactor.class);
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final MessageArchive messageArchive;
+    private final long thresholdDays;
+    private final int segmentMessages;
+    private final long partialWaitDays;
+
+    @Autowired
+    public MessageArchiveCompactor(ChatMessageRepository chatMessageRepository, MessageArchive messageArchive,
+            @Value("${chat.archive.threshold-days:180}") long thresholdDays,
+            @Value("${chat.archive.segment-messages:50000}") int segmentMessages,
+            @Value("${chat.archive.partial-wait-days:30}") long partialWaitDays) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.messageArchive = messageArchive;
+        this.thresholdDays = thresholdDays;
+        this.segmentMessages = segmentMessages;
+        this.partialWaitDays = partialWaitDays;
+    }
+
+    @Scheduled(initialDelayString = "${chat.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${chat.archive.interval-ms:3600000}")
+    public void compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(thresholdDays);
+        LocalDateTime partialCutoff = cutoff.minusDays(partialWaitDays);
+        for (Long roomId : chatMessageRepository.findRoomIdsWithMessagesBefore(cutoff)) {
+            try {
+                compactRoom(roomId, cutoff, partialCutoff);
+            } catch (IOException | RuntimeException e) {
+                log.error("방 {}의 메시지 보관에 실패했습니다.", roomId, e);
+            }
+        }
+    }
+
+    private void compactRoom(Long roomId, LocalDateTime cutoff, LocalDateTime partialCutoff) throws IOException {
+        Long cutoffSeq = chatMessageRepository.findMaxSeqBefore(roomId, cutoff);
+        if (cutoffSeq == null) {
+            return;
+        }
+
+        // 지난 실행에서 보관만 하고 삭제하지 못한 구간 정리
+        long archivedSeq = messageArchive.lastArchivedSeq(roomId);
+        if (archivedSeq > 0) {
+            chatMessageRepository.deleteByRoomIdAndSeqRange(roomId, 0, archivedSeq);
+        }
+
+        long moved = 0;
+        while (archivedSeq < cutoffSeq) {
+            List<ChatMessage> batch = chatMessageRepository.findByRoomIdAndSeqBetweenOrderBySeqAsc(roomId,
+                    archivedSeq + 1, cutoffSeq, PageRequest.of(0, segmentMessages));
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (batch.size() < segmentMessages && batch.get(0).getCreatedAt().isAfter(partialCutoff)) {
+                break; // 세그먼트를 채울 만큼 모일 때까지 DB에 둔다.
+            }
+            messageArchive.append(roomId, batch);
+            long lastSeq = batch.get(batch.size() - 1).getSeq();
+            // 구간 안의 행은 모두 방금 읽은 것이므로 범위 삭제가 안전하다.
+            chatMessageRepository.deleteByRoomIdAndSeqRange(roomId, archivedSeq + 1, lastSeq);
+            archivedSeq = lastSeq;
+            moved += batch.size();
+        }
+        if (moved > 0) {
+            log.info("방 {}: 메시지 {}건을 보관소로 옮겼습니다. (seq {}까지)", roomId, moved, archivedSeq);
+        }
+    }
+}
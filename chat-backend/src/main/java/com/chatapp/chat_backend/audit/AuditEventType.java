@@ -0,0 +1,17 @@
+package com.chatapp.chat_backend.audit;
+
+/**
+ * 감사(audit)/접근 로그 이벤트 종류
+ */
+public enum AuditEventType {
+    // 요청 하나가 처리됨 (메서드, 경로, 상태 코드, 처리 시간)
+    ACCESS,
+    // 로그인 성공
+    LOGIN_SUCCESS,
+    // 로그인 실패 (detail: unknown_user, bad_password)
+    LOGIN_FAILURE,
+    // 요청에 JWT가 있었지만 서명 오류/만료 등으로 거부됨
+    TOKEN_REJECTED,
+    // 필터 체인 처리 중 예외 발생 (detail: 예외 클래스 이름)
+    FILTER_ERROR
+}
@@ -0,0 +1,252 @@
+package com.chatapp.chat_backend.audit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 감사 이벤트를 로컬 파일에 한 줄씩 쓰는 롤링 파일 작성기 (소비자 스레드 하나에서만 사용)
+ *
+ * 한 줄 형식 (탭 구분, 값이 없으면 "-"):
+ *   epochMillis  type  status  durationMicros  username  remoteAddr  method  path  detail
+ *
+ * - 이벤트마다 문자열을 새로 만들지 않고, 재사용하는 CharBuffer에 채운 뒤 UTF-8로 인코딩해
+ *   64KB 버퍼에 모은다. 버퍼가 차거나 flush()가 호출될 때 한 번에 파일에 쓴다.
+ * - 날짜가 바뀌거나 파일이 maxFileBytes를 넘으면 새 파일(audit-yyyyMMdd-N.log)로 넘어가고,
+ *   파일 수가 maxFiles를 넘으면 가장 오래된 파일부터 지운다.
+ * - 버퍼에 모아 둔 이벤트는 파일에 쓰기를 마쳐야 writtenCount()에 더해진다.
+ *   쓰기에 실패해 reset()으로 버린 이벤트 수는 reset()이 돌려준다.
+ */
+final class AuditFileWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 한 줄의 최대 길이 (넘는 부분은 잘라낸다)
+    private static final int MAX_LINE_CHARS = 4096;
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final Path dir;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharBuffer line = CharBuffer.allocate(MAX_LINE_CHARS);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private FileChannel channel;
+    private long fileBytes;
+    // 버퍼에 모았지만 아직 파일에 쓰지 않은 이벤트 수
+    private int bufferedEvents;
+    // 파일에 쓴 이벤트 수 (지표용으로 다른 스레드에서 읽는다)
+    private volatile long written;
+    // 현재 파일이 속한 날짜가 끝나는 시각 (이 시각 이후의 이벤트가 오면 새 파일로 넘어간다)
+    private long dayEndMillis;
+
+    AuditFileWriter(Path dir, long maxFileBytes, int maxFiles) throws IOException {
+        this.dir = dir;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * 슬롯 하나를 한 줄로 버퍼에 추가한다.
+     */
+    void append(AuditRingBuffer.Slot slot) throws IOException {
+        if (channel == null || slot.timestampMillis >= dayEndMillis || fileBytes >= maxFileBytes) {
+            roll(slot.timestampMillis);
+        }
+
+        line.clear();
+        putNumber(slot.timestampMillis);
+        putField(slot.type.name());
+        line.put('\t');
+        putNumber(slot.status);
+        line.put('\t');
+        putNumber(slot.durationMicros);
+        putField(slot.username);
+        putField(slot.remoteAddr);
+        putField(slot.method);
+        putField(slot.path);
+        putField(slot.detail);
+        if (line.remaining() == 0) {
+            line.position(line.limit() - 1);
+        }
+        line.put('\n');
+        line.flip();
+
+        encoder.reset();
+        // 한 줄이 인코딩되면 최대 MAX_LINE_CHARS * 3 바이트이므로, 자리가 모자라면 먼저 비운다.
+        if (buffer.remaining() < MAX_LINE_CHARS * 3) {
+            flush();
+        }
+        int before = buffer.position();
+        encoder.encode(line, buffer, true);
+        encoder.flush(buffer);
+        fileBytes += buffer.position() - before;
+        bufferedEvents++;
+    }
+
+    /**
+     * 모아 둔 내용을 파일에 쓴다.
+     */
+    void flush() throws IOException {
+        if (channel == null || buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            written += bufferedEvents;
+            bufferedEvents = 0;
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 파일에 쓴 이벤트 수
+     */
+    long writtenCount() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * 쓰기 실패 후 호출한다. 버퍼를 버리고 다음 append에서 파일을 다시 연다.
+     *
+     * @return 버퍼와 함께 버린 이벤트 수
+     */
+    int reset() {
+        int discarded = bufferedEvents;
+        bufferedEvents = 0;
+        buffer.clear();
+        try {
+            closeChannel();
+        } catch (IOException ignored) {
+            // 이미 실패한 채널이므로 닫기 실패는 무시한다.
+        }
+        return discarded;
+    }
+
+    private void roll(long timestampMillis) throws IOException {
+        flush();
+        closeChannel();
+
+        LocalDate day = Instant.ofEpochMilli(timestampMillis).atZone(zone).toLocalDate();
+        dayEndMillis = day.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        String dayPrefix = FILE_PREFIX + day.format(DAY) + "-";
+
+        // 같은 날짜의 파일이 이미 있으면 (재시작 등) 다음 번호로 새 파일을 만든다.
+        int index = 0;
+        while (Files.exists(dir.resolve(dayPrefix + index + FILE_SUFFIX))) {
+            index++;
+        }
+        channel = FileChannel.open(dir.resolve(dayPrefix + index + FILE_SUFFIX), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        fileBytes = 0;
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        if (files.size() <= maxFiles) {
+            return;
+        }
+        // 파일 이름이 audit-{날짜}-{번호}.log 이므로 (날짜, 번호) 순서가 생성 순서이다.
+        files.sort((a, b) -> {
+            int byDay = dayOf(a).compareTo(dayOf(b));
+            return byDay != 0 ? byDay : Integer.compare(indexOf(a), indexOf(b));
+        });
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private static String dayOf(Path file) {
+        return file.getFileName().toString().substring(FILE_PREFIX.length(), FILE_PREFIX.length() + 8);
+    }
+
+    private static int indexOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(FILE_PREFIX.length() + 9, name.length() - FILE_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            FileChannel closing = channel;
+            channel = null;
+            closing.close();
+        }
+    }
+
+    private void putField(String value) {
+        if (line.remaining() < 2) {
+            return;
+        }
+        line.put('\t');
+        if (value == null || value.isEmpty()) {
+            line.put('-');
+            return;
+        }
+        int count = Math.min(value.length(), line.remaining() - 1);
+        for (int i = 0; i < count; i++) {
+            char c = value.charAt(i);
+            // 탭/줄바꿈 등 제어 문자는 줄 형식을 깨뜨리므로 바꿔 쓴다.
+            line.put(c < 0x20 || c == 0x7f ? '_' : c);
+        }
+    }
+
+    private void putNumber(long value) {
+        if (value < 0) {
+            line.put('-');
+            value = -value;
+        }
+        int start = line.position();
+        do {
+            line.put((char) ('0' + (value % 10)));
+            value /= 10;
+        } while (value > 0);
+        // 뒤집어서 자릿수 순서를 맞춘다.
+        for (int i = start, j = line.position() - 1; i < j; i++, j--) {
+            char tmp = line.get(i);
+            line.put(i, line.get(j));
+            line.put(j, tmp);
+        }
+    }
+}
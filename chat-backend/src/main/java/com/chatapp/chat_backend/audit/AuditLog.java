@@ -0,0 +1,175 @@
+package com.chatapp.chat_backend.audit;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 인증 감사 로그와 접근 로그를 비동기로 기록하는 컴포넌트이다.
+ *
+ * - 요청 스레드는 AuditRingBuffer에 이벤트 필드만 채우고 바로 돌아간다. (락, 파일 I/O, 대기 없음)
+ * - 전용 스레드(audit-writer) 하나가 버퍼에서 이벤트를 꺼내 AuditFileWriter로 모아서 파일에 쓴다.
+ * - 쓰는 속도가 따라가지 못해 버퍼가 가득 차면 새 이벤트는 버리고 개수만 센다.
+ *   (audit.events.dropped 지표로 확인)
+ * - 접근 로그(ACCESS)와 인증 이벤트(로그인 성공/실패, 토큰 거부 등)는 버퍼를 따로 쓰고,
+ *   소비자 스레드는 인증 이벤트 버퍼를 먼저 비운다. 접근 로그가 몰려 버퍼가 가득 차도
+ *   버려지는 것은 접근 로그이고, 인증 감사 기록은 남는다.
+ *   (두 버퍼를 번갈아 비우므로 파일에서 두 종류의 줄 순서는 시각 순서와 조금 어긋날 수 있다)
+ * - 파일 쓰기에 실패하면 모아 둔 이벤트를 버리고 개수만 센다. (audit.events.write_failed 지표로 확인)
+ *
+ * 지표:
+ * - audit.events.written: 파일에 실제로 기록한 이벤트 수
+ * - audit.events.dropped: 버퍼가 가득 차서 버린 이벤트 수 (buffer 태그: access, security)
+ * - audit.events.write_failed: 파일 쓰기에 실패해 버린 이벤트 수
+ * - audit.events.pending: 아직 기록되지 않은 이벤트 수
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    // 한 번에 꺼내 쓰는 최대 이벤트 수
+    private static final int BATCH_SIZE = 1024;
+    // 버퍼가 비었을 때 소비자 스레드가 쉬는 시간
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AuditRingBuffer accessBuffer;
+    private final AuditRingBuffer securityBuffer;
+    private final AuditFileWriter writer;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    // 소비자 스레드만 갱신한다.
+    private volatile long writeFailed;
+
+    @Autowired
+    public AuditLog(@Value("${chat.audit.dir:./data/audit}") String dir,
+            @Value("${chat.audit.buffer-size:8192}") int bufferSize,
+            @Value("${chat.audit.security-buffer-size:1024}") int securityBufferSize,
+            @Value("${chat.audit.max-file-size:64MB}") DataSize maxFileSize,
+            @Value("${chat.audit.max-files:30}") int maxFiles,
+            MeterRegistry meterRegistry) throws IOException {
+        this.accessBuffer = new AuditRingBuffer(bufferSize);
+        this.securityBuffer = new AuditRingBuffer(securityBufferSize);
+        this.writer = new AuditFileWriter(Paths.get(dir).toAbsolutePath().normalize(), maxFileSize.toBytes(),
+                maxFiles);
+
+        FunctionCounter.builder("audit.events.written", writer, AuditFileWriter::writtenCount)
+                .description("파일에 기록한 감사 이벤트 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events.write_failed", this, auditLog -> auditLog.writeFailed)
+                .description("파일 쓰기에 실패해 버린 감사 이벤트 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events.dropped", accessBuffer, AuditRingBuffer::droppedCount)
+                .description("버퍼가 가득 차서 버린 감사 이벤트 수")
+                .tag("buffer", "access")
+                .register(meterRegistry);
+        FunctionCounter.builder("audit.events.dropped", securityBuffer, AuditRingBuffer::droppedCount)
+                .description("버퍼가 가득 차서 버린 감사 이벤트 수")
+                .tag("buffer", "security")
+                .register(meterRegistry);
+        Gauge.builder("audit.events.pending", this, auditLog -> auditLog.accessBuffer.size()
+                + auditLog.securityBuffer.size())
+                .description("아직 파일에 기록되지 않은 감사 이벤트 수")
+                .register(meterRegistry);
+
+        this.consumer = new Thread(this::drainLoop, "audit-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * 요청 하나의 처리 결과를 기록한다. (접근 로그)
+     *
+     * @param durationMicros 요청 처리 시간 (마이크로초)
+     * @param username       인증된 사용자 (없으면 null)
+     */
+    public void access(HttpServletRequest request, int status, long durationMicros, String username) {
+        accessBuffer.publish(AuditEventType.ACCESS, System.currentTimeMillis(), durationMicros, status, username,
+                request.getRemoteAddr(), request.getMethod(), request.getRequestURI(), null);
+    }
+
+    /**
+     * 인증 관련 이벤트(로그인 성공/실패, 토큰 거부 등)를 기록한다.
+     *
+     * @param detail 실패 사유 등 짧은 설명 (상수 문자열 권장, 없으면 null)
+     */
+    public void event(AuditEventType type, HttpServletRequest request, int status, String username, String detail) {
+        securityBuffer.publish(type, System.currentTimeMillis(), 0, status, username, request.getRemoteAddr(),
+                request.getMethod(), request.getRequestURI(), detail);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drainBatch() == 0) {
+                flush();
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        }
+        // 종료 시 남은 이벤트를 모두 기록한다.
+        while (drainBatch() > 0) {
+            // 계속 비운다.
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("감사 로그 파일을 닫지 못했습니다.", e);
+            writeFailed += writer.reset();
+        }
+    }
+
+    /**
+     * 인증 이벤트를 먼저, 남은 자리만큼 접근 로그를 기록한다.
+     */
+    private int drainBatch() {
+        int count = drain(securityBuffer, BATCH_SIZE);
+        return count + drain(accessBuffer, BATCH_SIZE - count);
+    }
+
+    private int drain(AuditRingBuffer ringBuffer, int max) {
+        int count = 0;
+        AuditRingBuffer.Slot slot;
+        while (count < max && (slot = ringBuffer.peek()) != null) {
+            try {
+                writer.append(slot);
+            } catch (IOException e) {
+                log.warn("감사 로그를 기록하지 못했습니다. 모아 둔 이벤트를 버립니다.", e);
+                // 버퍼에 모아 둔 이벤트와 이번 이벤트
+                writeFailed += writer.reset() + 1;
+            } finally {
+                ringBuffer.release(slot);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("감사 로그를 기록하지 못했습니다. 모아 둔 이벤트를 버립니다.", e);
+            writeFailed += writer.reset();
+        }
+    }
+}
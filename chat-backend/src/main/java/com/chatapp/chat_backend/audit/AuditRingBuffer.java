@@ -0,0 +1,115 @@
+package com.chatapp.chat_backend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 감사 이벤트를 담는 고정 크기 락 프리 링 버퍼 (여러 생산자, 소비자 하나)
+ *
+ * - 슬롯(Slot)은 시작할 때 한 번만 만들어 두고 재사용한다. 이벤트를 기록할 때 객체를 새로 만들지 않는다.
+ * - 생산자(요청 스레드)는 CAS로 다음 순번을 차지하고 슬롯에 값을 채운 뒤 published에 순번을 써서 공개한다.
+ * - 버퍼가 가득 차 있으면 기다리지 않고 이벤트를 버린 뒤 dropped 카운터만 올린다.
+ *   (요청 스레드가 로그 때문에 막히는 일이 없다)
+ * - 소비자(백그라운드 스레드)는 consumed 순번의 슬롯이 공개되면 읽고 다음으로 넘어간다.
+ */
+public class AuditRingBuffer {
+
+    /**
+     * 고정 레이아웃 이벤트 슬롯. 문자열은 요청에서 이미 가진 참조를 그대로 담는다.
+     */
+    public static final class Slot {
+        // 이 슬롯에 공개된 이벤트의 순번 (-1: 아직 없음)
+        private volatile long published = -1;
+
+        public AuditEventType type;
+        public long timestampMillis;
+        public long durationMicros;
+        public int status;
+        public String username;
+        public String remoteAddr;
+        public String method;
+        public String path;
+        public String detail;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+
+    // 다음에 생산자가 차지할 순번
+    private final AtomicLong next = new AtomicLong();
+    // 다음에 소비자가 읽을 순번
+    private final AtomicLong consumed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity 슬롯 수 (2의 거듭제곱)
+     */
+    public AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity는 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * 이벤트를 기록한다. 버퍼가 가득 찼으면 버리고 false를 반환한다. (절대 기다리지 않음)
+     */
+    public boolean publish(AuditEventType type, long timestampMillis, long durationMicros, int status,
+            String username, String remoteAddr, String method, String path, String detail) {
+        long seq;
+        do {
+            seq = next.get();
+            if (seq - consumed.get() >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!next.compareAndSet(seq, seq + 1));
+
+        Slot slot = slots[(int) (seq & mask)];
+        slot.type = type;
+        slot.timestampMillis = timestampMillis;
+        slot.durationMicros = durationMicros;
+        slot.status = status;
+        slot.username = username;
+        slot.remoteAddr = remoteAddr;
+        slot.method = method;
+        slot.path = path;
+        slot.detail = detail;
+        slot.published = seq; // volatile 쓰기: 위에서 채운 값이 소비자에게 보이게 된다.
+        return true;
+    }
+
+    /**
+     * 소비자 전용: 다음 이벤트가 공개되어 있으면 그 슬롯을, 아니면 null을 반환한다.
+     * 슬롯을 다 읽은 뒤 반드시 release()를 호출해야 한다.
+     */
+    public Slot peek() {
+        long seq = consumed.get();
+        Slot slot = slots[(int) (seq & mask)];
+        return slot.published == seq ? slot : null;
+    }
+
+    /**
+     * 소비자 전용: 방금 읽은 슬롯을 생산자에게 돌려준다.
+     */
+    public void release(Slot slot) {
+        slot.username = null;
+        slot.remoteAddr = null;
+        slot.method = null;
+        slot.path = null;
+        slot.detail = null;
+        consumed.lazySet(consumed.get() + 1);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public int size() {
+        return (int) (next.get() - consumed.get());
+    }
+}
@@ -0,0 +1,13 @@
+package com.chatapp.chat_backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 애너테이션이 붙은 주기 작업을 활성화하는 설정 클래스이다.
+ * (예: 비밀번호 해시 마이그레이션 지표 갱신)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
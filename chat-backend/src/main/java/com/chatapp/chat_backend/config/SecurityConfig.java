@@ -6,14 +6,17 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.chatapp.chat_backend.audit.AuditLog;
 import com.chatapp.chat_backend.security.JwtAuthenticationFilter;
+import com.chatapp.chat_backend.security.PasswordHashPolicy;
 import com.chatapp.chat_backend.util.JwtUtil;
 
+import jakarta.servlet.DispatcherType;
+
 /**
  * Spring Security 보안 설정을 정의하는 클래스이다.
  *
@@ -30,7 +33,7 @@ import com.chatapp.chat_backend.util.JwtUtil;
  * @Configuration: 해당 클래스가 설정 클래스임을 나타낸다.
  * @EnableWebSecurity: Spring Security 활성화
  * @Bean: 반환된 객체를 Spring Bean으로 등록
- *        - PasswordEncoder: 비밀번호 암호화 설정
+ *        - PasswordEncoder: 비밀번호 암호화 설정 (PasswordHashPolicy 참고)
  *        - SecurityFilterChain: 보안 설정의 핵심, 필터 체인 정의
  */
 
@@ -38,14 +41,16 @@ import com.chatapp.chat_backend.util.JwtUtil;
 @EnableWebSecurity
 public class SecurityConfig {
     private final JwtUtil jwtUtil;
+    private final AuditLog auditLog;
 
     /**
-     * 생성자 주입 방식으로 JwtUtil을 주입.
+     * 생성자 주입 방식으로 JwtUtil, AuditLog를 주입.
      * JwtAuthenticationFilter에 의존성을 전달하기 위해 필요.
      */
     @Autowired
-    public SecurityConfig(JwtUtil jwtUtil) {
+    public SecurityConfig(JwtUtil jwtUtil, AuditLog auditLog) {
         this.jwtUtil = jwtUtil;
+        this.auditLog = auditLog;
     }
 
     /**
@@ -69,18 +74,22 @@ public class SecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 세션을 사용하지 않는 JWT 기반 인증
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/users/**").permitAll() // 회원가입, 로그인은 인증 없이 접근 허용
+                        // SSE 스트림의 비동기 디스패치: 최초 요청에서 이미 인증을 통과했으므로 허용
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()) // 그 외 요청은 인증 필요
-                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil),
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, auditLog),
                         UsernamePasswordAuthenticationFilter.class); // 인증 전에 JWT 필터 실행
 
         return http.build(); // 필터 체인 빌드
     }
 
     /**
-     * 비밀번호 암호화를 위한 BCryptPasswordEncoder 빈 등록
+     * 비밀번호 암호화를 위한 PasswordEncoder 빈 등록
+     * 버전 prefix({bcrypt} 등)를 붙이는 DelegatingPasswordEncoder이며,
+     * BCrypt cost는 PasswordHashPolicy가 시작 시점에 측정한 값을 사용한다.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashPolicy passwordHashPolicy) {
+        return passwordHashPolicy.createEncoder();
     }
 }
@@ -0,0 +1,208 @@
+package com.chatapp.chat_backend.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chatapp.chat_backend.dto.AttachmentResponseDTO;
+import com.chatapp.chat_backend.entity.Attachment;
+import com.chatapp.chat_backend.service.AttachmentService;
+import com.chatapp.chat_backend.service.ChatRoomService;
+import com.chatapp.chat_backend.util.AuthUtil;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 첨부파일 업로드/다운로드 API를 제공하는 컨트롤러입니다.
+ *
+ * - 업로드 (POST /api/rooms/{roomId}/attachments?filename=사진.png)
+ *   multipart가 아니라 파일 내용을 요청 본문 그대로 보낸다. (Content-Type은 파일 형식)
+ *   multipart는 컨테이너가 파일 전체를 메모리/임시 파일에 먼저 받아두기 때문에 사용하지 않는다.
+ * - 다운로드 (GET /api/attachments/{id})
+ *   Range 요청(이어받기, 동영상 탐색)과 ETag(If-None-Match, If-Range)를 지원한다.
+ *   톰캣이 sendfile을 지원하면 파일을 커널에서 바로 소켓으로 보내고,
+ *   아니면 FileChannel.transferTo로 보낸다. 어느 쪽이든 파일을 힙에 올리지 않는다.
+ *   오류 응답은 sendError가 아니라 setStatus로 보낸다. sendError는 /error로 다시 디스패치되는데,
+ *   그 디스패치에는 JWT 인증이 없어 상태 코드가 403으로 바뀌기 때문이다. (416의 Content-Range도 유지)
+ *
+ * 업로드·다운로드 모두 해당 방 멤버만 가능하다. (JWT로 인증된 AuthUtil.getCurrentUsername())
+ */
+@RestController
+@RequestMapping("/api")
+public class AttachmentController {
+
+    // 톰캣 sendfile 요청 속성 (org.apache.coyote.Constants)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // filename, content_type 컬럼 길이 (VARCHAR(255))
+    private static final int MAX_METADATA_LENGTH = 255;
+
+    private final AttachmentService attachmentService;
+    private final ChatRoomService chatRoomService;
+
+    @Autowired
+    public AttachmentController(AttachmentService attachmentService, ChatRoomService chatRoomService) {
+        this.attachmentService = attachmentService;
+        this.chatRoomService = chatRoomService;
+    }
+
+    @PostMapping("/rooms/{roomId}/attachments")
+    public ResponseEntity<?> upload(@PathVariable Long roomId, @RequestParam String filename,
+            HttpServletRequest request) throws IOException {
+        String username = AuthUtil.getCurrentUsername();
+        if (!chatRoomService.isMember(roomId, username)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("채팅방 멤버가 아닙니다.");
+        }
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith("multipart/")) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                    .body("파일 내용을 요청 본문에 그대로 보내 주세요. (multipart 미지원)");
+        }
+        if (contentType == null) {
+            contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        // 본문을 받기 전에 확인한다. (저장 후 메타데이터 저장에서 실패하면 받은 파일이 헛수고가 된다)
+        if (filename.isBlank() || filename.length() > MAX_METADATA_LENGTH) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("파일 이름은 1~" + MAX_METADATA_LENGTH + "자여야 합니다.");
+        }
+        if (contentType.isBlank() || contentType.length() > MAX_METADATA_LENGTH) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Content-Type은 1~" + MAX_METADATA_LENGTH + "자여야 합니다.");
+        }
+
+        try {
+            Attachment attachment = attachmentService.store(roomId, username, filename, contentType,
+                    request.getContentLengthLong(), request.getInputStream());
+            return ResponseEntity.status(HttpStatus.CREATED).body(AttachmentResponseDTO.from(attachment));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/attachments/{attachmentId}")
+    public void download(@PathVariable Long attachmentId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Attachment attachment = attachmentService.find(attachmentId);
+        if (attachment == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (!chatRoomService.isMember(attachment.getRoomId(), AuthUtil.getCurrentUsername())) {
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        Path blob = attachmentService.blobPath(attachment.getSha256());
+        if (!Files.exists(blob)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        long size = attachment.getSize();
+        String etag = "\"" + attachment.getSha256() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 내용 해시가 주소이므로 같은 id의 내용은 바뀌지 않는다.
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=86400");
+
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = size - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range가 현재 ETag와 다르거나 여러 구간을 요청하면 Range를 무시하고 전체를 보낸다.
+        if (range != null && range.indexOf(',') < 0 && (ifRange == null || ifRange.equals(etag))) {
+            long[] parsed = parseRange(range, size);
+            if (parsed == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            start = parsed[0];
+            end = parsed[1];
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+
+        long length = size == 0 ? 0 : end - start + 1;
+        response.setContentType(attachment.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(attachment.getFilename(), StandardCharsets.UTF_8).build().toString());
+        response.setContentLengthLong(length);
+        if (length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // 본문을 쓰지 않고 속성만 지정하면 톰캣이 응답을 보낼 때 sendfile을 사용한다.
+            request.setAttribute(SENDFILE_FILENAME, blob.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        attachmentService.transfer(blob, start, length, response.getOutputStream());
+    }
+
+    /**
+     * "bytes=시작-끝", "bytes=시작-", "bytes=-마지막N" 형식의 단일 구간만 지원한다.
+     *
+     * @return [start, end] (end 포함), 만족할 수 없는 구간이면 null
+     */
+    static long[] parseRange(String header, long size) {
+        if (!header.startsWith("bytes=") || size == 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start < 0 || start >= size || end < start) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.chatapp.chat_backend.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.chatapp.chat_backend.dto.ChatMessageRequestDTO;
+import com.chatapp.chat_backend.dto.ChatMessageResponseDTO;
+import com.chatapp.chat_backend.dto.EphemeralEventRequestDTO;
+import com.chatapp.chat_backend.service.ChatMessageService;
+import com.chatapp.chat_backend.service.ChatRoomService;
+import com.chatapp.chat_backend.service.EphemeralEventService;
+import com.chatapp.chat_backend.service.MessageHistoryService;
+import com.chatapp.chat_backend.service.RoomStreamService;
+import com.chatapp.chat_backend.util.AuthUtil;
+
+import jakarta.validation.Valid;
+
+/**
+ * 채팅 메시지 관련 REST API를 제공하는 컨트롤러입니다.
+ *
+ * - 메시지 전송 (POST /api/rooms/{roomId}/messages)
+ * - seq X 이후 메시지 조회 (GET /api/rooms/{roomId}/messages?afterSeq=X)
+ * - 과거 기록 조회 (GET /api/rooms/{roomId}/history?beforeSeq=X&limit=50, 최신순)
+ *   최근 메시지(DB)와 보관소로 옮겨진 오래된 메시지를 구분 없이 이어서 보여준다.
+ * - 실시간 스트림 구독 (GET /api/rooms/{roomId}/stream, Server-Sent Events)
+ * - 입력 중 표시 등 일시적 이벤트 전송 (POST /api/rooms/{roomId}/ephemeral, 저장되지 않음)
+ *
+ * 재접속 시 클라이언트는 마지막으로 받은 seq를 Last-Event-ID 헤더(EventSource가 자동으로 보냄)나
+ * resumeFrom 파라미터로 전달한다. 서버는 그 이후의 빈 구간만 먼저 보내고 실시간 전송을 이어간다.
+ * 방 멤버가 아니면 모든 API가 403을 반환한다.
+ */
+@RestController
+@RequestMapping("/api/rooms/{roomId}")
+public class ChatMessageController {
+
+    // 빈 구간이 너무 커서 한 번에 보내지 못했을 때 스트림으로 알리는 이벤트
+    private static final String TRUNCATED_EVENT = "truncated";
+
+    private static final int MAX_HISTORY_LIMIT = 200;
+
+    private final ChatRoomService chatRoomService;
+    private final ChatMessageService chatMessageService;
+    private final RoomStreamService roomStreamService;
+    private final EphemeralEventService ephemeralEventService;
+    private final MessageHistoryService messageHistoryService;
+
+    @Autowired
+    public ChatMessageController(ChatRoomService chatRoomService, ChatMessageService chatMessageService,
+            RoomStreamService roomStreamService, EphemeralEventService ephemeralEventService,
+            MessageHistoryService messageHistoryService) {
+        this.chatRoomService = chatRoomService;
+        this.chatMessageService = chatMessageService;
+        this.roomStreamService = roomStreamService;
+        this.ephemeralEventService = ephemeralEventService;
+        this.messageHistoryService = messageHistoryService;
+    }
+
+    @PostMapping("/messages")
+    public ResponseEntity<?> send(@PathVariable Long roomId, @Valid @RequestBody ChatMessageRequestDTO request) {
+        String username = AuthUtil.getCurrentUsername();
+        if (!chatRoomService.isMember(roomId, username)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("채팅방 멤버가 아닙니다.");
+        }
+
+        try {
+            return ResponseEntity.ok(chatMessageService.send(roomId, username, request));
+        } catch (ChatMessageService.DuplicateInFlightException e) {
+            // 같은 clientMessageId의 이전 요청이 아직 처리 중
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/messages")
+    public ResponseEntity<?> messagesAfter(@PathVariable Long roomId,
+            @RequestParam(defaultValue = "0") long afterSeq) {
+        if (!chatRoomService.isMember(roomId, AuthUtil.getCurrentUsername())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("채팅방 멤버가 아닙니다.");
+        }
+        return ResponseEntity.ok(chatMessageService.resume(roomId, afterSeq));
+    }
+
+    /**
+     * 과거 기록 조회: beforeSeq 이전 메시지를 최신순으로 반환한다.
+     * beforeSeq를 생략하면 가장 최근 메시지부터 보여준다.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> history(@PathVariable Long roomId,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long beforeSeq,
+            @RequestParam(defaultValue = "50") int limit) {
+        if (!chatRoomService.isMember(roomId, AuthUtil.getCurrentUsername())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("채팅방 멤버가 아닙니다.");
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        return ResponseEntity.ok(messageHistoryService.before(roomId, beforeSeq, cappedLimit));
+    }
+
+    /**
+     * 일시적 이벤트 접수
+     * 바로 중계하지 않고 모았다가 스트림의 "ephemeral" 이벤트로 묶어서 보낸다. (EphemeralEventService)
+     */
+    @PostMapping("/ephemeral")
+    public ResponseEntity<?> ephemeral(@PathVariable Long roomId, @Valid @RequestBody EphemeralEventRequestDTO request) {
+        String username = AuthUtil.getCurrentUsername();
+        if (!chatRoomService.isMember(roomId, username)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("채팅방 멤버가 아닙니다.");
+        }
+        ephemeralEventService.submit(roomId, username, request.getType());
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * 방 스트림 구독
+     * resume 기준 seq가 있으면 구독을 먼저 등록한 뒤 빈 구간을 조회해 실시간 이벤트보다 먼저 보낸다.
+     * (순서를 반대로 하면 그 사이에 저장된 메시지를 놓칠 수 있다)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@PathVariable Long roomId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long resumeFrom) {
+        if (!chatRoomService.isMember(roomId, AuthUtil.getCurrentUsername())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Long afterSeq = lastEventId != null ? lastEventId : resumeFrom;
+        SseEmitter emitter = roomStreamService.subscribe(roomId,
+                afterSeq == null ? null : () -> missedEvents(roomId, afterSeq));
+        return ResponseEntity.ok(emitter);
+    }
+
+    private List<RoomStreamService.StreamEvent> missedEvents(Long roomId, long afterSeq) {
+        List<ChatMessageResponseDTO> missed = chatMessageService.resume(roomId, afterSeq);
+        List<RoomStreamService.StreamEvent> events = new ArrayList<>(missed.size() + 1);
+        for (ChatMessageResponseDTO message : missed) {
+            events.add(new RoomStreamService.StreamEvent(ChatMessageService.MESSAGE_EVENT, message.getSeq(),
+                    message));
+        }
+        if (missed.size() >= chatMessageService.getMaxReplay()) {
+            // 나머지는 GET /messages?afterSeq= 로 이어서 받아야 한다.
+            long lastSeq = missed.get(missed.size() - 1).getSeq();
+            events.add(new RoomStreamService.StreamEvent(TRUNCATED_EVENT, null, lastSeq));
+        }
+        return events;
+    }
+}
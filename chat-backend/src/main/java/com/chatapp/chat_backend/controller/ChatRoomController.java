@@ -0,0 +1,87 @@
+package com.chatapp.chat_backend.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chatapp.chat_backend.dto.ChatRoomRequestDTO;
+import com.chatapp.chat_backend.dto.ChatRoomResponseDTO;
+import com.chatapp.chat_backend.dto.UnreadCountDTO;
+import com.chatapp.chat_backend.entity.ChatRoom;
+import com.chatapp.chat_backend.service.ChatRoomService;
+import com.chatapp.chat_backend.service.UnreadCountService;
+import com.chatapp.chat_backend.util.AuthUtil;
+
+import jakarta.validation.Valid;
+
+/**
+ * 채팅방 관련 REST API를 제공하는 컨트롤러입니다.
+ *
+ * - 방 생성 (POST /api/rooms)
+ * - 방 참여 (POST /api/rooms/{roomId}/join)
+ * - 내가 참여한 방 목록 (GET /api/rooms)
+ * - 방별 안 읽은 메시지 수 (GET /api/rooms/unread)
+ * - 읽음 처리 (POST /api/rooms/{roomId}/read)
+ *
+ * 모든 API는 JWT 인증이 필요하며, 현재 사용자는 AuthUtil.getCurrentUsername()으로 확인한다.
+ */
+@RestController
+@RequestMapping("/api/rooms")
+public class ChatRoomController {
+
+    private final ChatRoomService chatRoomService;
+    private final UnreadCountService unreadCountService;
+
+    @Autowired
+    public ChatRoomController(ChatRoomService chatRoomService, UnreadCountService unreadCountService) {
+        this.chatRoomService = chatRoomService;
+        this.unreadCountService = unreadCountService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ChatRoomResponseDTO> createRoom(@Valid @RequestBody ChatRoomRequestDTO request) {
+        ChatRoom room = chatRoomService.createRoom(request.getName(), AuthUtil.getCurrentUsername());
+        return ResponseEntity.status(HttpStatus.CREATED).body(ChatRoomResponseDTO.from(room));
+    }
+
+    @PostMapping("/{roomId}/join")
+    public ResponseEntity<String> join(@PathVariable Long roomId) {
+        if (!chatRoomService.join(roomId, AuthUtil.getCurrentUsername())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("존재하지 않는 채팅방입니다.");
+        }
+        return ResponseEntity.ok("채팅방 참여 성공.");
+    }
+
+    @GetMapping
+    public List<ChatRoomResponseDTO> myRooms() {
+        return chatRoomService.roomsOf(AuthUtil.getCurrentUsername()).stream()
+                .map(ChatRoomResponseDTO::from)
+                .toList();
+    }
+
+    @GetMapping("/unread")
+    public List<UnreadCountDTO> unreadCounts() {
+        String username = AuthUtil.getCurrentUsername();
+        return chatRoomService.roomIdsOf(username).stream()
+                .map(roomId -> new UnreadCountDTO(roomId, unreadCountService.unreadCount(roomId, username)))
+                .toList();
+    }
+
+    @PostMapping("/{roomId}/read")
+    public ResponseEntity<?> markRead(@PathVariable Long roomId) {
+        String username = AuthUtil.getCurrentUsername();
+        if (!chatRoomService.isMember(roomId, username)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("채팅방 멤버가 아닙니다.");
+        }
+        unreadCountService.markRead(roomId, username);
+        return ResponseEntity.ok(new UnreadCountDTO(roomId, unreadCountService.unreadCount(roomId, username)));
+    }
+}
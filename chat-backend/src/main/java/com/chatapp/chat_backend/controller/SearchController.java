@@ -0,0 +1,44 @@
+package com.chatapp.chat_backend.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chatapp.chat_backend.dto.MessageSearchResponseDTO;
+import com.chatapp.chat_backend.service.MessageSearchService;
+import com.chatapp.chat_backend.util.AuthUtil;
+
+/**
+ * 메시지 검색 API를 제공하는 컨트롤러입니다.
+ *
+ * - 메시지 검색 (GET /api/search/messages?q=검색어&limit=20)
+ *
+ * 현재 로그인한 사용자(AuthUtil.getCurrentUsername())가 참여한 방의 메시지만 검색된다.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    private final MessageSearchService messageSearchService;
+
+    @Autowired
+    public SearchController(MessageSearchService messageSearchService) {
+        this.messageSearchService = messageSearchService;
+    }
+
+    @GetMapping("/messages")
+    public ResponseEntity<?> searchMessages(@RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().body("검색어를 입력해 주세요.");
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(new MessageSearchResponseDTO(query,
+                messageSearchService.search(AuthUtil.getCurrentUsername(), query, cappedLimit)));
+    }
+}
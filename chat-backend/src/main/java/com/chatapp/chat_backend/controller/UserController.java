@@ -12,14 +12,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.chatapp.chat_backend.audit.AuditEventType;
+import com.chatapp.chat_backend.audit.AuditLog;
 import com.chatapp.chat_backend.dto.LoginRequestDTO;
 import com.chatapp.chat_backend.dto.UserRequestDTO;
 import com.chatapp.chat_backend.entity.User;
 import com.chatapp.chat_backend.repository.UserRepository;
+import com.chatapp.chat_backend.service.PasswordRehashService;
 import com.chatapp.chat_backend.util.AuthUtil;
 import com.chatapp.chat_backend.util.JwtUtil;
 
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
@@ -48,13 +52,18 @@ public class UserController {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final PasswordRehashService passwordRehashService;
+    private final AuditLog auditLog;
 
     // 생성자를 통한 의존성 주입
     @Autowired
-    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil,
+            PasswordRehashService passwordRehashService, AuditLog auditLog) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
+        this.passwordRehashService = passwordRehashService;
+        this.auditLog = auditLog;
     }
 
     // GET: 모든 사용자 조회
@@ -95,19 +104,30 @@ public class UserController {
      * 
      *         - 사용자 존재 여부 확인
      *         - 비밀번호 일치 여부 확인
+     *         - 성공/실패를 감사 로그에 기록 (AuditLog, 비동기)
+     *         - 오래된 해시라면 백그라운드 재해시 예약
      *         - JWT 발급
      */
     @PostMapping("/login")
-    public ResponseEntity<String> login(@Valid @RequestBody LoginRequestDTO request, HttpServletResponse response) {
+    public ResponseEntity<String> login(@Valid @RequestBody LoginRequestDTO request, HttpServletRequest httpRequest,
+            HttpServletResponse response) {
         User user = userRepository.findByUsername(request.getUsername());
 
         if (user == null) {
+            auditLog.event(AuditEventType.LOGIN_FAILURE, httpRequest, HttpStatus.UNAUTHORIZED.value(),
+                    request.getUsername(), "unknown_user");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("존재하지 않는 사용자입니다.");
         }
 
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            auditLog.event(AuditEventType.LOGIN_FAILURE, httpRequest, HttpStatus.UNAUTHORIZED.value(),
+                    user.getUsername(), "bad_password");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("비밀번호가 일치하지 않습니다.");
         }
+        auditLog.event(AuditEventType.LOGIN_SUCCESS, httpRequest, HttpStatus.OK.value(), user.getUsername(), null);
+
+        // 오래된 정책의 해시라면 새 정책으로 다시 저장 (응답을 기다리게 하지 않음)
+        passwordRehashService.rehashIfNeeded(user, request.getPassword());
 
         // JWT 발급
         String token = jwtUtil.createToken(user.getUsername());
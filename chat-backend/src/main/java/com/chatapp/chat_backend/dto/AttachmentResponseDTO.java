@@ -0,0 +1,27 @@
+package com.chatapp.chat_backend.dto;
+
+import com.chatapp.chat_backend.entity.Attachment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 업로드된 첨부파일 정보 응답 DTO
+ * 내려받기는 GET /api/attachments/{id}
+ */
+@Getter
+@AllArgsConstructor
+public class AttachmentResponseDTO {
+    private final Long id;
+    private final Long roomId;
+    private final String uploader;
+    private final String filename;
+    private final String contentType;
+    private final long size;
+    private final String sha256;
+
+    public static AttachmentResponseDTO from(Attachment attachment) {
+        return new AttachmentResponseDTO(attachment.getId(), attachment.getRoomId(), attachment.getUploader(),
+                attachment.getFilename(), attachment.getContentType(), attachment.getSize(), attachment.getSha256());
+    }
+}
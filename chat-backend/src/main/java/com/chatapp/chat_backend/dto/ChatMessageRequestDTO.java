@@ -0,0 +1,24 @@
+package com.chatapp.chat_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 메시지 전송 요청 DTO
+ *
+ * clientMessageId: 클라이언트가 메시지마다 만드는 고유 id (예: UUID).
+ * 응답을 받지 못해 같은 요청을 다시 보내도 서버는 같은 메시지(같은 seq)를 돌려준다.
+ * 생략하면 재전송 중복 제거가 적용되지 않는다.
+ */
+@Getter
+@Setter
+public class ChatMessageRequestDTO {
+    @NotBlank(message = "메시지 내용은 필수 입력값입니다.")
+    @Size(max = 2000, message = "메시지는 2000자 이하여야 합니다.")
+    private String content;
+
+    @Size(max = 64, message = "clientMessageId는 64자 이하여야 합니다.")
+    private String clientMessageId;
+}
@@ -0,0 +1,28 @@
+package com.chatapp.chat_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.chatapp.chat_backend.entity.ChatMessage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 클라이언트에 전달되는 메시지 DTO
+ * 불변 객체이므로 최근 메시지 버퍼에 그대로 보관했다가 여러 구독자에게 재사용한다.
+ */
+@Getter
+@AllArgsConstructor
+public class ChatMessageResponseDTO {
+    private final Long roomId;
+    private final long seq;
+    private final String sender;
+    private final String content;
+    private final String clientMessageId;
+    private final LocalDateTime createdAt;
+
+    public static ChatMessageResponseDTO from(ChatMessage message) {
+        return new ChatMessageResponseDTO(message.getRoomId(), message.getSeq(), message.getSender(),
+                message.getContent(), message.getClientMessageId(), message.getCreatedAt());
+    }
+}
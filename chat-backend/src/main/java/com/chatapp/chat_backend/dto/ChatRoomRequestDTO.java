@@ -0,0 +1,17 @@
+package com.chatapp.chat_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 채팅방 생성 요청 시 방 이름을 담는 DTO
+ */
+@Getter
+@Setter
+public class ChatRoomRequestDTO {
+    @NotBlank(message = "방 이름은 필수 입력값입니다.")
+    @Size(max = 100, message = "방 이름은 100자 이하여야 합니다.")
+    private String name;
+}
@@ -0,0 +1,21 @@
+package com.chatapp.chat_backend.dto;
+
+import com.chatapp.chat_backend.entity.ChatRoom;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 채팅방 정보를 클라이언트에 돌려줄 때 사용하는 DTO
+ */
+@Getter
+@AllArgsConstructor
+public class ChatRoomResponseDTO {
+    private final Long id;
+    private final String name;
+    private final String createdBy;
+
+    public static ChatRoomResponseDTO from(ChatRoom room) {
+        return new ChatRoomResponseDTO(room.getId(), room.getName(), room.getCreatedBy());
+    }
+}
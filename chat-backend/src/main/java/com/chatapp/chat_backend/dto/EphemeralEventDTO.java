@@ -0,0 +1,16 @@
+package com.chatapp.chat_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 방 스트림으로 묶어서 전달되는 일시적 이벤트 하나
+ * at: 서버가 이벤트를 받은 시각 (epoch millis)
+ */
+@Getter
+@AllArgsConstructor
+public class EphemeralEventDTO {
+    private final String username;
+    private final String type;
+    private final long at;
+}
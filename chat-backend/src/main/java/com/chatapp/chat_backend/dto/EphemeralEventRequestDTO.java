@@ -0,0 +1,18 @@
+package com.chatapp.chat_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 저장되지 않는 일시적 이벤트(입력 중 표시, 접속 상태 핑 등) 요청 DTO
+ * type 예: typing, stopped_typing, presence
+ */
+@Getter
+@Setter
+public class EphemeralEventRequestDTO {
+    @NotBlank(message = "이벤트 종류는 필수 입력값입니다.")
+    @Pattern(regexp = "[a-z_]{1,32}", message = "이벤트 종류는 영문 소문자와 _ 로 32자 이하여야 합니다.")
+    private String type;
+}
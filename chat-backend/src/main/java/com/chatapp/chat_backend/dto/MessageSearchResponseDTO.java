@@ -0,0 +1,17 @@
+package com.chatapp.chat_backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 메시지 검색 결과 DTO
+ * 최신 메시지부터 정렬되어 있다.
+ */
+@Getter
+@AllArgsConstructor
+public class MessageSearchResponseDTO {
+    private final String query;
+    private final List<ChatMessageResponseDTO> messages;
+}
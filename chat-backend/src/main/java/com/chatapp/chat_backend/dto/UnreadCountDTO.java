@@ -0,0 +1,14 @@
+package com.chatapp.chat_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 방별 안 읽은 메시지 수 응답 DTO
+ */
+@Getter
+@AllArgsConstructor
+public class UnreadCountDTO {
+    private final Long roomId;
+    private final long unreadCount;
+}
@@ -0,0 +1,55 @@
+package com.chatapp.chat_backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Attachment 엔티티 클래스
+ * 채팅방에 업로드된 첨부파일의 메타데이터이다. 파일 내용은 DB가 아니라 로컬 디스크에 저장된다.
+ *
+ * - sha256: 파일 내용의 해시. 디스크의 파일 경로이자 ETag로 사용된다.
+ *   같은 내용의 파일은 여러 번 올려도 디스크에는 한 번만 저장된다. (행은 업로드마다 생김)
+ * - roomId: 이 첨부파일을 내려받을 수 있는 방. 방 멤버만 접근할 수 있다.
+ */
+@Entity
+@Table(name = "chat_attachments")
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class Attachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private String uploader;
+
+    @Column(nullable = false)
+    private String filename;
+
+    @Column(nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
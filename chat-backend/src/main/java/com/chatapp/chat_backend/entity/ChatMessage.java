@@ -0,0 +1,61 @@
+package com.chatapp.chat_backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * ChatMessage 엔티티 클래스
+ * 채팅방에 전송된 메시지를 저장한다.
+ *
+ * - seq: 방마다 1부터 단조 증가하는 순번. 클라이언트는 마지막으로 받은 seq를 기억했다가
+ *   재접속 시 "seq X 이후부터" 이어받는다.
+ * - clientMessageId: 클라이언트가 메시지마다 만든 고유 id. 네트워크 문제로 같은 메시지를 재전송해도
+ *   (room_id, sender, client_message_id) 유니크 제약 덕분에 한 번만 저장된다.
+ *
+ * 일정 기간이 지난 메시지는 MessageArchive의 압축 세그먼트로 옮겨지고 이 테이블에서 삭제된다.
+ */
+@Entity
+@Table(name = "chat_messages", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "room_id", "seq" }),
+        @UniqueConstraint(columnNames = { "room_id", "sender", "client_message_id" })
+}, indexes = @Index(columnList = "created_at")) // 오래된 메시지 보관 대상 조회용
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChatMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Column(nullable = false)
+    // 보낸 사용자의 username
+    private String sender;
+
+    @Column(nullable = false, length = 2000)
+    private String content;
+
+    @Column(name = "client_message_id", length = 64)
+    private String clientMessageId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package com.chatapp.chat_backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * ChatRoom 엔티티 클래스
+ * DB의 chat_rooms 테이블과 매핑되는 채팅방 정보이다.
+ * 방에 속한 사용자는 ChatRoomMember, 방의 메시지는 ChatMessage에서 roomId로 참조한다.
+ */
+@Entity
+@Table(name = "chat_rooms")
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChatRoom {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    // 방을 만든 사용자의 username
+    private String createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
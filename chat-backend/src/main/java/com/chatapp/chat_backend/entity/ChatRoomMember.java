@@ -0,0 +1,48 @@
+package com.chatapp.chat_backend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * ChatRoomMember 엔티티 클래스
+ * 어떤 사용자(username)가 어떤 채팅방(roomId)에 참여하고 있는지를 나타낸다.
+ * 같은 방에 같은 사용자가 두 번 들어갈 수 없도록 (room_id, username)에 유니크 제약을 건다.
+ *
+ * unreadCount는 UnreadCountService가 메모리에서 모은 값을 주기적으로 기록한 것이다.
+ * 최신 값은 메모리에 있으므로 조회는 UnreadCountService를 통해야 한다.
+ */
+@Entity
+@Table(name = "chat_room_members", uniqueConstraints = @UniqueConstraint(columnNames = { "room_id", "username" }))
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ChatRoomMember {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private LocalDateTime joinedAt;
+
+    @Column(nullable = false)
+    // 읽지 않은 메시지 수 (주기적으로 반영되는 값)
+    private long unreadCount;
+}
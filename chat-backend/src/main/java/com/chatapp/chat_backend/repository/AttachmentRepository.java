@@ -0,0 +1,25 @@
+package com.chatapp.chat_backend.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.chatapp.chat_backend.entity.Attachment;
+
+/**
+ * 첨부파일 메타데이터(Attachment)에 대한 기본 CRUD를 제공하는 Repository
+ *
+ * 추가 메서드:
+ * - existsBySha256(String sha256): 같은 내용(파일)을 참조하는 첨부가 있는지 (참조 없는 파일 정리용)
+ * - findReferencedSha256In(...): 주어진 해시 중 첨부가 참조하는 해시 목록 (참조 없는 파일 정리용)
+ */
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+    boolean existsBySha256(String sha256);
+
+    @Query("SELECT DISTINCT a.sha256 FROM Attachment a WHERE a.sha256 IN :sha256s")
+    Set<String> findReferencedSha256In(@Param("sha256s") Collection<String> sha256s);
+}
@@ -0,0 +1,52 @@
+package com.chatapp.chat_backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chatapp.chat_backend.entity.ChatMessage;
+
+/**
+ * 채팅 메시지(ChatMessage)에 대한 Repository
+ *
+ * 추가 메서드:
+ * - findMaxSeq(Long roomId): 방의 마지막 seq (서버 재시작 후 순번 카운터 복원용)
+ * - findByRoomIdAndSenderAndClientMessageId(...): 재전송된 메시지의 원본 조회
+ * - findByIdGreaterThanOrderByIdAsc(...): id 순서로 나눠 읽기 (검색 색인 재구성용)
+ * - findByRoomIdAndSeqLessThanOrderBySeqDesc(...): seq X 이전 메시지 (과거 기록 조회)
+ * - findByRoomIdAndSeqBetweenOrderBySeqAsc(...): seq 구간 조회 (재접속 시 빈 구간, 보관소로 옮길 메시지)
+ * - findRoomIdsWithMessagesBefore / findMaxSeqBefore / deleteByRoomIdAndSeqRange:
+ *   오래된 메시지를 보관소(MessageArchive)로 옮길 때 사용
+ */
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+    @Query("SELECT MAX(m.seq) FROM ChatMessage m WHERE m.roomId = :roomId")
+    Long findMaxSeq(@Param("roomId") Long roomId);
+
+    ChatMessage findByRoomIdAndSenderAndClientMessageId(Long roomId, String sender, String clientMessageId);
+
+    List<ChatMessage> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<ChatMessage> findByRoomIdAndSeqLessThanOrderBySeqDesc(Long roomId, long seq, Pageable pageable);
+
+    @Query("SELECT DISTINCT m.roomId FROM ChatMessage m WHERE m.createdAt < :cutoff")
+    List<Long> findRoomIdsWithMessagesBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT MAX(m.seq) FROM ChatMessage m WHERE m.roomId = :roomId AND m.createdAt < :cutoff")
+    Long findMaxSeqBefore(@Param("roomId") Long roomId, @Param("cutoff") LocalDateTime cutoff);
+
+    List<ChatMessage> findByRoomIdAndSeqBetweenOrderBySeqAsc(Long roomId, long fromSeq, long toSeq,
+            Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChatMessage m WHERE m.roomId = :roomId AND m.seq BETWEEN :fromSeq AND :toSeq")
+    int deleteByRoomIdAndSeqRange(@Param("roomId") Long roomId, @Param("fromSeq") long fromSeq,
+            @Param("toSeq") long toSeq);
+}
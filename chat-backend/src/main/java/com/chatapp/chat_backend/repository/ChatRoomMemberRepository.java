@@ -0,0 +1,20 @@
+package com.chatapp.chat_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.chatapp.chat_backend.entity.ChatRoomMember;
+
+/**
+ * 채팅방 참여 정보(ChatRoomMember)에 대한 Repository
+ *
+ * 추가 메서드:
+ * - findByRoomId(Long roomId): 방에 참여한 사용자 목록
+ * - findByUsername(String username): 사용자가 참여한 방 목록
+ */
+public interface ChatRoomMemberRepository extends JpaRepository<ChatRoomMember, Long> {
+    List<ChatRoomMember> findByRoomId(Long roomId);
+
+    List<ChatRoomMember> findByUsername(String username);
+}
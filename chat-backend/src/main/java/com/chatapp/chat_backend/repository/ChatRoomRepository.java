@@ -0,0 +1,11 @@
+package com.chatapp.chat_backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.chatapp.chat_backend.entity.ChatRoom;
+
+/**
+ * 채팅방(ChatRoom) 엔티티에 대한 기본 CRUD를 제공하는 Repository
+ */
+public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
+}
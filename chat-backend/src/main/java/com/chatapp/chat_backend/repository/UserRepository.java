@@ -1,6 +1,10 @@
 package com.chatapp.chat_backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.chatapp.chat_backend.entity.User;
 
@@ -13,10 +17,38 @@ import com.chatapp.chat_backend.entity.User;
  *
  * 추가 메서드:
  * - findByUsername(String username): 사용자 이름으로 조회
+ * - countByPasswordStartingWith(String prefix): 특정 해시 prefix를 가진 사용자 수 (해시 마이그레이션 지표용)
+ * - countBcryptWithCostAtLeast(String minCost): cost가 minCost 이상인 {bcrypt} 해시 사용자 수 (해시 마이그레이션 지표용)
+ * - updatePasswordIfUnchanged(...): 해시가 그대로일 때만 교체 (로그인 시 재해시용)
  *
  * Spring Data JPA는 메서드 이름만으로도 자동 구현을 지원합니다.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
     // username으로 검색하는 메서드도 추가 가능
     User findByUsername(String username);
+
+    // SELECT COUNT(*) FROM users WHERE password LIKE 'prefix%'
+    long countByPasswordStartingWith(String prefix);
+
+    /**
+     * "{bcrypt}$2a$NN$..." 형식 해시 중 cost(NN, 두 자리 문자열)가 minCost 이상인 사용자 수
+     * 버전($2a, $2b, $2y)은 구분하지 않는다. (BCryptPasswordEncoder.upgradeEncoding과 같은 기준)
+     * "{bcrypt}$2a$"가 12글자이므로 cost는 13번째 글자부터 2글자이다.
+     */
+    @Query("SELECT COUNT(u) FROM User u WHERE u.password LIKE '{bcrypt}$2_$%' "
+            + "AND SUBSTRING(u.password, 13, 2) >= :minCost")
+    long countBcryptWithCostAtLeast(@Param("minCost") String minCost);
+
+    /**
+     * 저장된 해시가 oldHash와 같을 때만 newHash로 교체한다. (compare-and-set)
+     * 백그라운드 재해시 도중 사용자가 비밀번호를 바꿨다면 아무것도 갱신하지 않는다.
+     *
+     * @return 갱신된 행 수 (0 또는 1)
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+            @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash);
 }
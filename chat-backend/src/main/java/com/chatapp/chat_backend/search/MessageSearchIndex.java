@@ -0,0 +1,163 @@
+package com.chatapp.chat_backend.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chatapp.chat_backend.archive.MessageArchive;
+import com.chatapp.chat_backend.entity.ChatMessage;
+import com.chatapp.chat_backend.repository.ChatMessageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 채팅 메시지 전문 검색용 메모리 역색인
+ *
+ * DB에서 LIKE '%검색어%'로 찾으면 매번 테이블 전체를 읽어야 하므로,
+ * 메시지가 저장될 때마다 토큰을 뽑아 방별 역색인(RoomIndex)에 추가해 둔다.
+ *
+ * - 방(roomId)별로 색인을 나눠서, 검색할 때는 사용자가 속한 방의 색인만 본다.
+ * - 서버 시작 시 보관소(MessageArchive)와 DB의 메시지를 읽어 색인을 다시 만든다. (백그라운드 스레드)
+ *   재색인 중에 들어온 메시지가 두 번 추가될 수 있지만 세그먼트 봉인/검색 시 중복이 제거된다.
+ * - 주기적으로 방별로 크기가 비슷한 봉인 세그먼트를 합쳐 검색 시 살펴볼 세그먼트 수를 줄인다. (RoomIndex.merge)
+ *
+ * 문서 번호는 방별로 "메시지 id - 방의 기준 id"(int)를 사용한다. (RoomIndex 참고)
+ * 방 안의 id 차이가 int 범위를 넘는 메시지는 색인할 수 없으므로 오류 로그와
+ * search.index.rejected 지표로 알린다.
+ */
+@Component
+public class MessageSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageSearchIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final MessageArchive messageArchive;
+    private final int sealThreshold;
+    private final int mergeFactor;
+    private final boolean rebuildOnStartup;
+    private final Counter rejectedCounter;
+    // 색인하지 못한 메시지 오류 로그는 처음 한 번만 남긴다. (이후는 지표로 확인)
+    private final AtomicBoolean rejectionLogged = new AtomicBoolean();
+
+    private final ConcurrentHashMap<Long, RoomIndex> rooms = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MessageSearchIndex(ChatMessageRepository chatMessageRepository, MessageArchive messageArchive,
+            @Value("${chat.search.seal-threshold:4096}") int sealThreshold,
+            @Value("${chat.search.merge-factor:8}") int mergeFactor,
+            @Value("${chat.search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+            MeterRegistry meterRegistry) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.messageArchive = messageArchive;
+        this.sealThreshold = sealThreshold;
+        this.mergeFactor = mergeFactor;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rejectedCounter = Counter.builder("search.index.rejected")
+                .description("문서 번호 범위를 넘어 검색 색인에 넣지 못한 메시지 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 저장된 메시지를 색인에 추가한다.
+     */
+    public void index(Long roomId, Long messageId, String content) {
+        if (messageId == null) {
+            return;
+        }
+        Set<String> terms = MessageTokenizer.indexTerms(content);
+        if (terms.isEmpty()) {
+            return;
+        }
+        RoomIndex index = rooms.computeIfAbsent(roomId, id -> new RoomIndex(sealThreshold, messageId));
+        if (!index.add(messageId, terms)) {
+            rejectedCounter.increment();
+            if (rejectionLogged.compareAndSet(false, true)) {
+                log.error("방 {}의 메시지 {}는 문서 번호 범위를 넘어 검색 색인에 넣지 못했습니다. "
+                        + "이후 같은 경우는 search.index.rejected 지표로만 집계합니다.", roomId, messageId);
+            }
+        }
+    }
+
+    /**
+     * 주어진 방들에서 모든 토큰을 포함하고 id가 beforeId보다 작은 메시지를 최신순으로 최대 limit개 찾는다.
+     *
+     * @param beforeId 이어서 찾을 때 이전 결과의 마지막 메시지 id (처음이면 Long.MAX_VALUE)
+     */
+    public List<SearchHit> search(Collection<Long> roomIds, Collection<String> terms, int limit, long beforeId) {
+        List<SearchHit> hits = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return hits;
+        }
+        for (Long roomId : roomIds) {
+            RoomIndex index = rooms.get(roomId);
+            if (index == null) {
+                continue;
+            }
+            for (long messageId : index.search(terms, limit, beforeId)) {
+                hits.add(new SearchHit(roomId, messageId));
+            }
+        }
+
+        // 방마다 최신 limit개씩 모은 것을 합쳐서 전체 최신 limit개로 자른다.
+        hits.sort(Comparator.comparingLong(SearchHit::getMessageId).reversed());
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    @Scheduled(fixedDelayString = "${chat.search.merge-interval-ms:60000}")
+    public void mergeSegments() {
+        for (RoomIndex index : rooms.values()) {
+            index.merge(mergeFactor);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread rebuild = new Thread(this::rebuild, "search-index-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    private void rebuild() {
+        long[] archived = new long[1];
+        messageArchive.forEach(message -> {
+            index(message.getRoomId(), message.getId(), message.getContent());
+            archived[0]++;
+        });
+
+        long lastId = 0;
+        long indexed = archived[0];
+        while (true) {
+            List<ChatMessage> batch = chatMessageRepository.findByIdGreaterThanOrderByIdAsc(lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (ChatMessage message : batch) {
+                index(message.getRoomId(), message.getId(), message.getContent());
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+            indexed += batch.size();
+        }
+        log.info("메시지 검색 색인 재구성 완료: {}건", indexed);
+    }
+}
@@ -0,0 +1,100 @@
+package com.chatapp.chat_backend.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 메시지 검색용 토크나이저
+ *
+ * 형태소 분석기 없이 한국어/영어를 함께 처리하기 위해 문자 종류에 따라 다르게 자른다.
+ * - 영어/숫자: 글자·숫자가 이어진 구간을 소문자 단어 하나로 만든다. ("Hello, World" → hello, world)
+ * - 한글(및 한자/가나): 띄어쓰기 단위 구간을 2글자씩 겹쳐 자른다(bigram).
+ *   "안녕하세요" → 안녕, 녕하, 하세, 세요
+ *   조사가 붙어도("회의는", "회의를") "회의" bigram이 공통으로 남기 때문에 검색이 된다.
+ *   색인할 때는 한 글자 검색을 위해 unigram(안, 녕, ...)도 함께 넣는다.
+ *
+ * 검색어도 같은 규칙으로 자르고, 모든 토큰이 들어 있는 메시지를 찾는다(AND).
+ */
+public final class MessageTokenizer {
+
+    private MessageTokenizer() {
+    }
+
+    /**
+     * 색인용 토큰 (중복 제거)
+     */
+    public static Set<String> indexTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String run : runs(text)) {
+            if (isBigramScript(run.charAt(0))) {
+                for (int i = 0; i < run.length(); i++) {
+                    terms.add(run.substring(i, i + 1));
+                    if (i + 1 < run.length()) {
+                        terms.add(run.substring(i, i + 2));
+                    }
+                }
+            } else {
+                terms.add(run);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 검색어용 토큰 (중복 제거)
+     * 한글 구간은 bigram만 사용하고, 한 글자짜리 구간만 unigram으로 찾는다.
+     */
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String run : runs(query)) {
+            if (isBigramScript(run.charAt(0)) && run.length() > 1) {
+                for (int i = 0; i + 1 < run.length(); i++) {
+                    terms.add(run.substring(i, i + 2));
+                }
+            } else {
+                terms.add(run);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 소문자로 바꾼 뒤 같은 문자 종류(bigram 대상 / 그 외)가 이어지는 글자·숫자 구간으로 나눈다.
+     * 검색 결과 확인(검색어 구간이 본문에 실제로 들어 있는지)에도 사용한다.
+     */
+    public static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        if (text == null) {
+            return runs;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int length = lower.length();
+        int i = 0;
+        while (i < length) {
+            char c = lower.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            boolean bigram = isBigramScript(c);
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(lower.charAt(i))
+                    && isBigramScript(lower.charAt(i)) == bigram) {
+                i++;
+            }
+            runs.add(lower.substring(start, i));
+        }
+        return runs;
+    }
+
+    private static boolean isBigramScript(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HANGUL
+                || script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+}
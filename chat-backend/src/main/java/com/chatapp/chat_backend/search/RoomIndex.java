@@ -0,0 +1,335 @@
+package com.chatapp.chat_backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방 하나의 역색인(inverted index)
+ *
+ * 토큰 → 그 토큰이 들어 있는 문서 번호 목록(posting list)을 int 배열로 보관한다.
+ * (Integer 박싱 없이 기본형 배열을 쓰기 때문에 메시지 수백만 개도 메모리에 올릴 수 있다)
+ *
+ * 문서 번호는 "메시지 id - baseId"(int)이다. baseId는 이 방에서 처음 색인한 메시지 id이며,
+ * 그보다 앞선 메시지(재색인 중 나중에 들어온 옛 메시지)는 음수 번호가 된다.
+ * 메시지 id(전역 auto_increment)가 int 범위를 넘어도, 방 안의 id 차이가 int 범위 안이면 색인할 수 있다.
+ *
+ * 구조:
+ * - live 세그먼트: 새 메시지가 추가되는 가변 세그먼트. sealThreshold개가 차면 봉인한다.
+ * - sealed 세그먼트: 봉인된 불변 세그먼트. posting이 정렬·중복 제거된 int[]로 저장된다.
+ *   크기가 비슷한 세그먼트가 mergeFactor개 모이면 merge()가 그것들만 하나로 합친다. (주기 작업)
+ *   크기 등급은 sealThreshold × mergeFactor^n 단위로 나뉘므로, 이미 커진 세그먼트는 같은 등급이
+ *   mergeFactor개 모일 때까지 다시 복사되지 않는다. 메시지 하나가 다시 쓰이는 횟수는 log(방 크기)에 비례한다.
+ *
+ * 검색은 세그먼트마다 "가장 최근 메시지부터" 교집합을 구해 limit개까지만 찾는다.
+ * 메시지 id는 전역 auto_increment 값이라 클수록 최신이다. (문서 번호도 같은 순서)
+ */
+class RoomIndex {
+
+    private final int sealThreshold;
+    private final long baseId;
+    private final Object lock = new Object();
+
+    // lock으로 보호: 현재 쓰기 중인 세그먼트
+    private Map<String, IntList> live = new HashMap<>();
+    private int liveDocs;
+
+    // 불변 리스트로 교체만 한다 (lock 안에서). 읽을 때는 lock 없이 참조를 가져간다.
+    private volatile List<Segment> sealed = List.of();
+
+    RoomIndex(int sealThreshold, long baseId) {
+        this.sealThreshold = sealThreshold;
+        this.baseId = baseId;
+    }
+
+    /**
+     * 메시지를 색인에 추가한다.
+     *
+     * @return 방 안의 id 차이가 int 범위를 넘어 색인할 수 없으면 false
+     */
+    boolean add(long messageId, Collection<String> terms) {
+        long offset = messageId - baseId;
+        if (offset < Integer.MIN_VALUE || offset > Integer.MAX_VALUE) {
+            return false;
+        }
+        int docId = (int) offset;
+        synchronized (lock) {
+            for (String term : terms) {
+                live.computeIfAbsent(term, t -> new IntList()).add(docId);
+            }
+            if (++liveDocs >= sealThreshold) {
+                List<Segment> next = new ArrayList<>(sealed);
+                next.add(Segment.of(live, liveDocs));
+                sealed = List.copyOf(next);
+                live = new HashMap<>();
+                liveDocs = 0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 모든 토큰을 포함하는 메시지 중 id가 beforeId보다 작은 것을 최신순으로 최대 limit개 반환한다.
+     *
+     * @param beforeId 이 id 미만만 찾는다. (이어서 찾을 때 이전 결과의 마지막 id, 처음이면 Long.MAX_VALUE)
+     */
+    long[] search(Collection<String> terms, int limit, long beforeId) {
+        // 문서 번호 기준 상한 (이 값 미만). 메시지 id는 양수이므로 뺄셈이 넘치지 않는다.
+        long beforeDoc = Math.min(beforeId - baseId, (long) Integer.MAX_VALUE + 1);
+        List<Segment> segments;
+        Segment liveSnapshot;
+        synchronized (lock) {
+            segments = sealed;
+            // live 세그먼트는 검색어 토큰의 posting만 복사한다.
+            Map<String, IntList> copied = new HashMap<>();
+            for (String term : terms) {
+                IntList postings = live.get(term);
+                if (postings != null) {
+                    copied.put(term, postings.copy());
+                }
+            }
+            liveSnapshot = Segment.of(copied, 0);
+        }
+
+        IntList matches = new IntList();
+        liveSnapshot.collectNewest(terms, limit, beforeDoc, matches);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            segments.get(i).collectNewest(terms, limit, beforeDoc, matches);
+        }
+
+        // 세그먼트끼리 id 범위가 겹칠 수 있으므로(재색인 중 실시간 추가 등) 정렬·중복 제거 후 자른다.
+        int[] sorted = matches.sortedDistinct();
+        int count = Math.min(limit, sorted.length);
+        long[] newest = new long[count];
+        for (int i = 0; i < count; i++) {
+            newest[i] = baseId + sorted[sorted.length - 1 - i];
+        }
+        return newest;
+    }
+
+    /**
+     * 같은 크기 등급의 인접한 세그먼트가 mergeFactor개 모여 있으면 그것들만 하나로 합친다.
+     * 합친 결과가 다시 윗 등급에서 mergeFactor개를 채우면 이어서 합친다.
+     * 합치는 동안 새로 봉인된 세그먼트는 그대로 뒤에 남는다.
+     * 주기 작업 스레드 하나에서만 호출된다고 가정한다.
+     *
+     * @param mergeFactor 한 번에 합치는 세그먼트 수 (2 이상)
+     * @return 합친 세그먼트가 있으면 true
+     */
+    boolean merge(int mergeFactor) {
+        if (mergeFactor < 2) {
+            throw new IllegalArgumentException("mergeFactor는 2 이상이어야 합니다.");
+        }
+        boolean merged = false;
+        while (mergeOnce(mergeFactor)) {
+            merged = true;
+        }
+        return merged;
+    }
+
+    private boolean mergeOnce(int mergeFactor) {
+        List<Segment> snapshot = sealed;
+        // 최신 세그먼트부터 같은 등급이 mergeFactor개 연속된 구간을 찾는다.
+        int run = 0;
+        int from = -1;
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            if (run > 0 && tier(snapshot.get(i), mergeFactor) != tier(snapshot.get(i + 1), mergeFactor)) {
+                run = 0;
+            }
+            if (++run == mergeFactor) {
+                from = i;
+                break;
+            }
+        }
+        if (from < 0) {
+            return false;
+        }
+
+        Segment merged = Segment.merge(snapshot.subList(from, from + mergeFactor));
+        synchronized (lock) {
+            // 이 스레드만 세그먼트를 빼므로 current는 snapshot 뒤에 새로 봉인된 세그먼트가 붙은 목록이다.
+            List<Segment> current = sealed;
+            List<Segment> next = new ArrayList<>(current.subList(0, from));
+            next.add(merged);
+            next.addAll(current.subList(from + mergeFactor, current.size()));
+            sealed = List.copyOf(next);
+        }
+        return true;
+    }
+
+    /**
+     * 세그먼트의 크기 등급: 문서 수가 sealThreshold × mergeFactor^n 이상이면 n
+     */
+    private int tier(Segment segment, int mergeFactor) {
+        int tier = 0;
+        long bound = (long) sealThreshold * mergeFactor;
+        while (segment.docs >= bound) {
+            tier++;
+            bound *= mergeFactor;
+        }
+        return tier;
+    }
+
+    /**
+     * 봉인된 세그먼트별 문서 수 (오래된 순, 진단/테스트용)
+     */
+    int[] segmentSizes() {
+        List<Segment> segments = sealed;
+        int[] sizes = new int[segments.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = segments.get(i).docs;
+        }
+        return sizes;
+    }
+
+    /**
+     * 불변 세그먼트: 토큰 → 정렬·중복 제거된 메시지 id 배열
+     */
+    static final class Segment {
+
+        private final Map<String, int[]> postings;
+        // 색인된 메시지 수 (크기 등급 계산용, 재색인 중복은 따로 빼지 않는다)
+        private final int docs;
+
+        private Segment(Map<String, int[]> postings, int docs) {
+            this.postings = postings;
+            this.docs = docs;
+        }
+
+        static Segment of(Map<String, IntList> source, int docs) {
+            Map<String, int[]> postings = new HashMap<>(source.size() * 2);
+            for (Map.Entry<String, IntList> entry : source.entrySet()) {
+                postings.put(entry.getKey(), entry.getValue().sortedDistinct());
+            }
+            return new Segment(postings, docs);
+        }
+
+        static Segment merge(List<Segment> segments) {
+            Map<String, IntList> combined = new HashMap<>();
+            int docs = 0;
+            for (Segment segment : segments) {
+                docs += segment.docs;
+                for (Map.Entry<String, int[]> entry : segment.postings.entrySet()) {
+                    combined.computeIfAbsent(entry.getKey(), t -> new IntList()).addAll(entry.getValue());
+                }
+            }
+            return of(combined, docs);
+        }
+
+        /**
+         * 모든 토큰의 posting 교집합 중 beforeDoc 미만을 뒤(최신)에서부터 구해 최대 limit개를 out에 추가한다.
+         */
+        void collectNewest(Collection<String> terms, int limit, long beforeDoc, IntList out) {
+            int[][] lists = new int[terms.size()][];
+            int k = 0;
+            for (String term : terms) {
+                int[] list = postings.get(term);
+                if (list == null) {
+                    return;
+                }
+                lists[k++] = list;
+            }
+            if (k == 0) {
+                return;
+            }
+            // 가장 짧은 posting을 기준으로 삼는다.
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+            int[] pos = new int[k];
+            for (int i = 0; i < k; i++) {
+                pos[i] = lastIndexBelow(lists[i], beforeDoc);
+            }
+
+            int found = 0;
+            candidates: while (found < limit && pos[0] >= 0) {
+                int candidate = lists[0][pos[0]];
+                for (int i = 1; i < k; i++) {
+                    int[] list = lists[i];
+                    while (pos[i] >= 0 && list[pos[i]] > candidate) {
+                        pos[i]--;
+                    }
+                    if (pos[i] < 0) {
+                        return;
+                    }
+                    if (list[pos[i]] < candidate) {
+                        // candidate는 이 목록에 없다: 기준 목록을 그 아래 값까지 내린다.
+                        int target = list[pos[i]];
+                        while (pos[0] >= 0 && lists[0][pos[0]] > target) {
+                            pos[0]--;
+                        }
+                        continue candidates;
+                    }
+                }
+                out.add(candidate);
+                found++;
+                pos[0]--;
+            }
+        }
+
+        /**
+         * 정렬된 list에서 bound 미만인 마지막 위치 (없으면 -1)
+         */
+        private static int lastIndexBelow(int[] list, long bound) {
+            int low = 0;
+            int high = list.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (list[mid] < bound) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+
+    /**
+     * 박싱 없는 가변 int 배열
+     */
+    static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(int[] more) {
+            if (size + more.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + more.length));
+            }
+            System.arraycopy(more, 0, values, size, more.length);
+            size += more.length;
+        }
+
+        IntList copy() {
+            IntList copy = new IntList();
+            copy.values = Arrays.copyOf(values, Math.max(size, 1));
+            copy.size = size;
+            return copy;
+        }
+
+        /**
+         * 오름차순 정렬 + 중복 제거된 배열
+         */
+        int[] sortedDistinct() {
+            int[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int distinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+        }
+    }
+}
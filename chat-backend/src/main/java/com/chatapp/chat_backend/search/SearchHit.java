@@ -0,0 +1,15 @@
+package com.chatapp.chat_backend.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색 색인에서 찾은 메시지 하나 (방 id, 메시지 id)
+ * 방 id는 DB에서 이미 보관소로 옮겨진 메시지를 찾을 때 필요하다.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHit {
+    private final long roomId;
+    private final long messageId;
+}
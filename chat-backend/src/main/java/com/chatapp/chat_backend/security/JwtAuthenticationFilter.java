@@ -1,5 +1,7 @@
 package com.chatapp.chat_backend.security;
 
+import java.io.IOException;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -7,9 +9,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.chatapp.chat_backend.audit.AuditEventType;
+import com.chatapp.chat_backend.audit.AuditLog;
 import com.chatapp.chat_backend.util.JwtUtil;
 
-import io.jsonwebtoken.io.IOException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -30,17 +33,22 @@ import jakarta.servlet.http.HttpServletResponse;
  * 3. 유효성 검증 후 (validateToken) → 사용자명을 꺼내고
  * 4. UsernamePasswordAuthenticationToken 객체를 생성 → SecurityContext에 저장
  * 5. SecurityContextHolder에 사용자 인증 정보가 들어가므로 이후 컨트롤러, 서비스에서 인증된 사용자로 동작함
+ * 6. 요청 처리가 끝나면 AuditLog에 접근 로그(상태 코드, 처리 시간)를 남긴다.
+ *    토큰이 거부된 경우와 필터 체인에서 예외가 난 경우도 감사 이벤트로 남긴다. (요청 스레드는 기다리지 않음)
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final AuditLog auditLog;
 
     /**
      * JwtUtil을 주입받아 JWT 관련 로직(파싱, 검증, 사용자 추출 등)을 위임한다.
+     * AuditLog는 접근 로그와 토큰 거부 이벤트를 기록하는 데 사용한다.
      */
     @Autowired
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, AuditLog auditLog) {
         this.jwtUtil = jwtUtil;
+        this.auditLog = auditLog;
     }
 
     /**
@@ -50,12 +58,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
+        long startNanos = System.nanoTime();
         // http 서블렛을 통해 전달받은 요청에서 JWT를 추출(Authorization 헤더)
         String token = parseToken(request);
+        String username = null;
 
-        // JWT가 존재하며 유효할 시
-        if (token != null && jwtUtil.validateToken(token)) {
-            String username = jwtUtil.getUsername(token); // 토큰에서 사용자명 추출
+        // JWT가 존재하지만 서명 오류, 만료 등으로 유효하지 않을 시 인증 없이 진행
+        // (감사 이벤트는 실제 응답 상태를 알 수 있는 요청 처리 후에 남긴다)
+        boolean tokenRejected = token != null && !jwtUtil.validateToken(token);
+        if (token != null && !tokenRejected) {
+            // JWT가 존재하며 유효할 시
+            username = jwtUtil.getUsername(token); // 토큰에서 사용자명 추출
 
             /**
              * 인증 객체 생성
@@ -86,10 +99,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             // 다음 필터로 요청을 넘긴다.
             filterChain.doFilter(request, response);
-        } catch (java.io.IOException | ServletException e) {
-            // TODO Auto-generated catch block
-            e.printStackTrace();
+        } catch (IOException | ServletException | RuntimeException e) {
+            // 예외는 감사 로그에 남기고 그대로 던져 컨테이너의 오류 처리(500 응답 등)에 맡긴다.
+            if (tokenRejected) {
+                auditLog.event(AuditEventType.TOKEN_REJECTED, request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        null, "invalid_token");
+            }
+            auditLog.event(AuditEventType.FILTER_ERROR, request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    username, e.getClass().getName());
+            throw e;
+        }
+        if (tokenRejected) {
+            // 인증이 필요한 경로였다면 보통 403, 인증 없이 열린 경로였다면 그 응답 상태가 남는다.
+            auditLog.event(AuditEventType.TOKEN_REJECTED, request, response.getStatus(), null, "invalid_token");
         }
+        auditLog.access(request, response.getStatus(), (System.nanoTime() - startNanos) / 1000, username);
     }
 
     /**
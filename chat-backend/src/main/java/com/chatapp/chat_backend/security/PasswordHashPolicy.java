@@ -0,0 +1,134 @@
+package com.chatapp.chat_backend.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 비밀번호 해시 정책을 결정하고 PasswordEncoder를 생성하는 클래스이다.
+ *
+ * 저장되는 해시는 "{id}해시" 형태로 버전(알고리즘 id)을 함께 기록한다.
+ * 예: {bcrypt}$2a$12$....
+ * 이렇게 해두면 알고리즘이나 cost를 바꿔도 기존 해시는 그대로 검증할 수 있고,
+ * 로그인 시 upgradeEncoding()으로 오래된 해시를 골라내 새 정책으로 다시 저장할 수 있다.
+ *
+ * BCrypt cost(strength)는 서버 시작 시 한 번 측정(calibration)해서
+ * 해시 1회에 target-millis 정도가 걸리도록 정한다. 하드웨어가 빨라지면 cost가 자동으로 올라간다.
+ * 재시작마다 값이 흔들리는 것이 싫다면 security.password.bcrypt.strength로 고정할 수 있다.
+ *
+ * 설정 값 (application.yml):
+ * - security.password.encoding-id: 새 해시에 사용할 알고리즘 id (bcrypt, pbkdf2)
+ * - security.password.bcrypt.strength: 0이면 자동 측정, 그 외에는 고정 cost
+ * - security.password.bcrypt.target-millis: 해시 1회 목표 시간(ms)
+ * - security.password.bcrypt.min-strength / max-strength: 측정 결과의 하한/상한
+ */
+@Component
+public class PasswordHashPolicy {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashPolicy.class);
+
+    // 측정 시 사용할 샘플 비밀번호 (실제 사용자 값과 무관)
+    private static final String CALIBRATION_SAMPLE = "calibration-sample-password";
+
+    private final String encodingId;
+    private final int bcryptStrength;
+
+    public PasswordHashPolicy(
+            @Value("${security.password.encoding-id:bcrypt}") String encodingId,
+            @Value("${security.password.bcrypt.strength:0}") int fixedStrength,
+            @Value("${security.password.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${security.password.bcrypt.max-strength:16}") int maxStrength) {
+        if (!BCRYPT.equals(encodingId) && !PBKDF2.equals(encodingId)) {
+            throw new IllegalArgumentException("지원하지 않는 비밀번호 해시 알고리즘입니다: " + encodingId);
+        }
+        this.encodingId = encodingId;
+        this.bcryptStrength = fixedStrength > 0
+                ? fixedStrength
+                : calibrateBCryptStrength(targetMillis, minStrength, maxStrength);
+        log.info("비밀번호 해시 정책: encodingId={}, bcryptStrength={}", this.encodingId, this.bcryptStrength);
+    }
+
+    /**
+     * 버전 prefix를 붙여 저장하는 DelegatingPasswordEncoder를 생성한다.
+     * prefix가 없는 기존 해시($2a$10$...)는 기본 BCrypt로 검증되며,
+     * upgradeEncoding()이 true를 반환하므로 다음 로그인 때 새 형식으로 교체된다.
+     */
+    public PasswordEncoder createEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put(PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * 현재 정책의 알고리즘 id prefix ("{bcrypt}" 등)
+     * 이 prefix로 시작하지 않는 해시는 upgradeEncoding()이 true를 반환한다. (다음 로그인 때 재해시)
+     */
+    public String currentIdPrefix() {
+        return "{" + encodingId + "}";
+    }
+
+    /**
+     * 현재 정책에서 "최신"으로 보는 최소 BCrypt cost (두 자리 문자열, 예: "12")
+     * BCryptPasswordEncoder.upgradeEncoding()은 cost가 이보다 낮을 때만 재해시하므로,
+     * 재시작 후 측정값이 내려가면 그보다 높은 cost의 해시는 그대로 최신으로 본다.
+     */
+    public String minBcryptCost() {
+        return String.format("%02d", bcryptStrength);
+    }
+
+    public boolean isBcrypt() {
+        return BCRYPT.equals(encodingId);
+    }
+
+    public String getEncodingId() {
+        return encodingId;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    /**
+     * min-strength에서 해시 시간을 측정하고, cost가 1 오를 때마다 시간이 2배가 되는 점을 이용해
+     * target-millis를 넘지 않는 가장 큰 cost를 고른다. (min-strength 아래로는 내려가지 않음)
+     */
+    private static int calibrateBCryptStrength(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_SAMPLE); // JIT 워밍업
+
+        // 여러 번 측정해서 가장 빠른 값을 사용 (GC, 스케줄링 잡음 제거)
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        long targetNanos = targetMillis * 1_000_000L;
+        int strength = minStrength;
+        long estimated = best;
+        while (strength < maxStrength && estimated * 2 <= targetNanos) {
+            strength++;
+            estimated *= 2;
+        }
+        log.info("BCrypt cost 측정: strength {}에서 {}ms, 선택된 strength {} (예상 {}ms)",
+                minStrength, best / 1_000_000L, strength, estimated / 1_000_000L);
+        return strength;
+    }
+}
@@ -0,0 +1,66 @@
+package com.chatapp.chat_backend.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.chatapp.chat_backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 비밀번호 해시 마이그레이션 진행 상황을 지표로 노출하는 클래스이다.
+ *
+ * - users.password.outdated: 현재 정책이 아닌 해시를 가진 사용자 수
+ *   (PasswordEncoder.upgradeEncoding()과 같은 기준: 알고리즘 id가 다르거나, bcrypt cost가 현재 값보다 낮은 해시.
+ *   다음 로그인 때 재해시되는 해시만 세므로 모두 로그인하면 0이 된다)
+ * - users.password.outdated.ratio: 그 비율 (0.0 ~ 1.0)
+ *
+ * 지표를 조회할 때마다 COUNT 쿼리를 날리지 않도록, 주기적으로 계산한 값을 캐시해서 보여준다.
+ * /actuator/metrics/users.password.outdated.ratio 에서 확인할 수 있다.
+ */
+@Component
+public class PasswordMigrationMetrics {
+
+    private final UserRepository userRepository;
+    private final PasswordHashPolicy passwordHashPolicy;
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong outdatedUsers = new AtomicLong();
+
+    @Autowired
+    public PasswordMigrationMetrics(UserRepository userRepository, PasswordHashPolicy passwordHashPolicy,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordHashPolicy = passwordHashPolicy;
+
+        Gauge.builder("users.password.outdated", outdatedUsers, AtomicLong::get)
+                .description("현재 해시 정책이 아닌 비밀번호를 가진 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("users.password.outdated.ratio", this, PasswordMigrationMetrics::outdatedRatio)
+                .description("현재 해시 정책이 아닌 비밀번호를 가진 사용자 비율")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 전체 사용자 수와 최신 정책 해시를 가진 사용자 수를 세어 캐시를 갱신한다.
+     */
+    @Scheduled(initialDelayString = "${security.password.migration-metric.initial-delay-ms:10000}",
+            fixedDelayString = "${security.password.migration-metric.refresh-ms:600000}")
+    public void refresh() {
+        long total = userRepository.count();
+        long current = passwordHashPolicy.isBcrypt()
+                ? userRepository.countBcryptWithCostAtLeast(passwordHashPolicy.minBcryptCost())
+                : userRepository.countByPasswordStartingWith(passwordHashPolicy.currentIdPrefix());
+        totalUsers.set(total);
+        outdatedUsers.set(total - current);
+    }
+
+    private double outdatedRatio() {
+        long total = totalUsers.get();
+        return total == 0 ? 0.0 : (double) outdatedUsers.get() / total;
+    }
+}
@@ -0,0 +1,255 @@
+package com.chatapp.chat_backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.chatapp.chat_backend.entity.Attachment;
+import com.chatapp.chat_backend.repository.AttachmentRepository;
+
+/**
+ * 첨부파일을 로컬 디스크에 저장하고 읽어오는 서비스이다.
+ *
+ * 업로드:
+ * - 요청 본문을 64KB 버퍼 하나로 읽으면서 바로 임시 파일(FileChannel)에 쓰고, 동시에 SHA-256을 계산한다.
+ *   파일 전체를 메모리에 올리지 않는다.
+ * - 다 받으면 해시 값 경로(ab/cd/abcd...)로 옮긴다. 같은 내용의 파일이 이미 있으면 임시 파일만 지운다.
+ * - 파일을 놓는 것부터 메타데이터 저장까지는 같은 해시끼리 한 번에 하나씩 한다. (blobLock)
+ *   메타데이터 저장에 실패해도 파일을 바로 지우지 않는다. 같은 내용을 동시에 올린 다른 업로드가
+ *   그 파일을 쓰려는 중일 수 있기 때문이다. 참조하는 메타데이터가 없는 파일은 sweepOrphans()가 지운다.
+ * - 크기 제한은 spring.servlet.multipart.max-file-size 값을 그대로 사용한다.
+ *
+ * 내려받기는 AttachmentController가 blobPath()의 파일을 sendfile/transferTo로 직접 보낸다.
+ */
+@Service
+public class AttachmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SHA256_HEX_LENGTH = 64;
+    // 참조 여부를 한 번에 확인하는 해시 수 (IN 절 크기)
+    private static final int SWEEP_BATCH = 500;
+
+    private final AttachmentRepository attachmentRepository;
+    private final Path storageDir;
+    private final Path tempDir;
+    private final long maxFileSize;
+
+    // 같은 해시의 "파일 놓기 + 메타데이터 저장"과 "참조 확인 + 삭제"를 서로 배제하는 락 (해시 앞 2글자로 나눔)
+    private final Object[] blobLocks = new Object[256];
+
+    @Autowired
+    public AttachmentService(AttachmentRepository attachmentRepository,
+            @Value("${chat.attachments.storage-dir:./data/attachments}") String storageDir,
+            @Value("${spring.servlet.multipart.max-file-size:10MB}") DataSize maxFileSize) throws IOException {
+        this.attachmentRepository = attachmentRepository;
+        this.storageDir = Paths.get(storageDir).toAbsolutePath().normalize();
+        this.tempDir = this.storageDir.resolve("tmp");
+        this.maxFileSize = maxFileSize.toBytes();
+        Files.createDirectories(this.tempDir);
+        for (int i = 0; i < blobLocks.length; i++) {
+            blobLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * 요청 본문을 스트리밍으로 저장하고 메타데이터를 기록한다.
+     *
+     * @param contentLength 요청의 Content-Length (모르면 -1)
+     * @throws IllegalArgumentException 크기 제한을 넘은 경우
+     */
+    public Attachment store(Long roomId, String uploader, String filename, String contentType, long contentLength,
+            InputStream body) throws IOException {
+        if (contentLength > maxFileSize) {
+            throw new IllegalArgumentException("파일 크기가 제한(" + maxFileSize + " bytes)을 넘었습니다.");
+        }
+
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        long size = 0;
+        try {
+            ReadableByteChannel in = Channels.newChannel(body);
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    size += buffer.remaining();
+                    if (size > maxFileSize) {
+                        throw new IllegalArgumentException("파일 크기가 제한(" + maxFileSize + " bytes)을 넘었습니다.");
+                    }
+                    digest.update(buffer.array(), 0, buffer.limit());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Attachment attachment = new Attachment();
+            attachment.setRoomId(roomId);
+            attachment.setUploader(uploader);
+            attachment.setFilename(filename);
+            attachment.setContentType(contentType);
+            attachment.setSize(size);
+            attachment.setSha256(sha256);
+            attachment.setCreatedAt(LocalDateTime.now());
+            // 저장에 실패해 참조 없이 남은 파일은 sweepOrphans()가 지운다.
+            synchronized (blobLock(sha256)) {
+                moveIntoPlace(temp, blobPath(sha256));
+                return attachmentRepository.save(attachment);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public Attachment find(Long attachmentId) {
+        return attachmentRepository.findById(attachmentId).orElse(null);
+    }
+
+    /**
+     * 해시 값에 해당하는 파일 경로 (앞 4글자로 디렉터리를 나눠 한 디렉터리에 파일이 몰리지 않게 한다)
+     */
+    public Path blobPath(String sha256) {
+        return storageDir.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    /**
+     * 파일의 [start, start + length) 구간을 out으로 보낸다.
+     * FileChannel.transferTo를 사용하므로 힙에 파일 내용을 올리지 않는다.
+     * (서블릿 컨테이너가 sendfile을 지원하지 않을 때 사용하는 경로)
+     */
+    public void transfer(Path blob, long start, long length, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel file = FileChannel.open(blob, StandardOpenOption.READ)) {
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * 참조하는 메타데이터가 없는 파일(업로드 중 메타데이터 저장에 실패한 경우 등)을 지운다.
+     *
+     * 먼저 해시를 모아 참조 여부를 한꺼번에 확인하고, 참조가 없는 파일만 해시 락을 잡은 채로
+     * 한 번 더 확인한 뒤 지운다. 그 사이 같은 내용의 업로드가 저장을 마쳤다면 지우지 않는다.
+     */
+    @Scheduled(initialDelayString = "${chat.attachments.sweep-initial-delay-ms:300000}",
+            fixedDelayString = "${chat.attachments.sweep-interval-ms:3600000}")
+    public void sweepOrphans() {
+        List<String> orphans = new ArrayList<>();
+        List<String> batch = new ArrayList<>(SWEEP_BATCH);
+        try (Stream<Path> files = Files.walk(storageDir, 3)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (file.startsWith(tempDir) || name.length() != SHA256_HEX_LENGTH || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                batch.add(name);
+                if (batch.size() == SWEEP_BATCH) {
+                    collectUnreferenced(batch, orphans);
+                }
+            }
+            collectUnreferenced(batch, orphans);
+        } catch (IOException | RuntimeException e) {
+            log.error("첨부파일 정리 중 저장소를 읽지 못했습니다.", e);
+            return;
+        }
+
+        int deleted = 0;
+        for (String sha256 : orphans) {
+            synchronized (blobLock(sha256)) {
+                if (attachmentRepository.existsBySha256(sha256)) {
+                    continue;
+                }
+                try {
+                    if (Files.deleteIfExists(blobPath(sha256))) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("참조 없는 첨부파일을 지우지 못했습니다: {}", sha256, e);
+                }
+            }
+        }
+        if (deleted > 0) {
+            log.info("참조 없는 첨부파일 {}개를 지웠습니다.", deleted);
+        }
+    }
+
+    private void collectUnreferenced(List<String> batch, List<String> orphans) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = attachmentRepository.findReferencedSha256In(batch);
+        for (String sha256 : batch) {
+            if (!referenced.contains(sha256)) {
+                orphans.add(sha256);
+            }
+        }
+        batch.clear();
+    }
+
+    private Object blobLock(String sha256) {
+        return blobLocks[Integer.parseInt(sha256.substring(0, 2), 16)];
+    }
+
+    /**
+     * 같은 내용의 파일이 이미 있으면(중복) 아무것도 하지 않는다. 임시 파일은 호출한 쪽에서 지운다.
+     */
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 파일이 동시에 업로드된 경우: 먼저 옮긴 쪽을 사용한다.
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
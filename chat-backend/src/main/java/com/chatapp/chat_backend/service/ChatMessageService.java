@@ -0,0 +1,171 @@
+package com.chatapp.chat_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.chatapp.chat_backend.dto.ChatMessageRequestDTO;
+import com.chatapp.chat_backend.dto.ChatMessageResponseDTO;
+import com.chatapp.chat_backend.entity.ChatMessage;
+import com.chatapp.chat_backend.repository.ChatMessageRepository;
+import com.chatapp.chat_backend.search.MessageSearchIndex;
+
+/**
+ * 채팅 메시지 전송과 재접속 시 빈 구간 조회를 담당하는 서비스이다.
+ *
+ * 전송 흐름:
+ * 1. clientMessageId가 있으면 재전송 여부 확인 (메모리 → 실패 시 DB 유니크 제약)
+ * 2. RoomSequenceLog에서 seq 발급 (락 없음)
+ * 3. DB 저장 → commit: 앞 seq가 모두 끝났으면 최근 메시지 버퍼에 추가하고 스트림 구독자에게 seq 순서대로 전달
+ *    (앞 seq가 아직 저장 중이면 그 요청이 끝날 때 함께 전달된다) → 검색 색인에 추가 → 안 읽은 수 증가
+ *
+ * 재접속(resume) 흐름:
+ * - afterSeq 이후 committedSeq까지를 최근 메시지 버퍼에서 찾고, 버퍼에서 밀려났다면 DB(및 보관소)에서 조회한다.
+ * - committedSeq 이후는 돌려주지 않는다. 아직 저장 중인 seq를 클라이언트가 건너뛰지 않게 하기 위해서다.
+ */
+@Service
+public class ChatMessageService {
+
+    public static final String MESSAGE_EVENT = "message";
+
+    // 같은 메시지가 처리 중일 때 재전송 요청이 기다리는 최대 시간
+    private static final long DUPLICATE_WAIT_SECONDS = 5;
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final RoomSequenceLog roomSequenceLog;
+    private final RoomStreamService roomStreamService;
+    private final MessageSearchIndex messageSearchIndex;
+    private final UnreadCountService unreadCountService;
+    private final MessageHistoryService messageHistoryService;
+    private final int maxReplay;
+
+    @Autowired
+    public ChatMessageService(ChatMessageRepository chatMessageRepository, RoomSequenceLog roomSequenceLog,
+            RoomStreamService roomStreamService, MessageSearchIndex messageSearchIndex,
+            UnreadCountService unreadCountService, MessageHistoryService messageHistoryService, @Value("${chat.replay.max-messages:500}") int maxReplay) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.roomSequenceLog = roomSequenceLog;
+        this.roomStreamService = roomStreamService;
+        this.messageSearchIndex = messageSearchIndex;
+        this.unreadCountService = unreadCountService;
+        this.messageHistoryService = messageHistoryService;
+        this.maxReplay = maxReplay;
+    }
+
+    /**
+     * 같은 clientMessageId의 이전 요청이 끝나기를 기다리지 못한 경우 (컨트롤러가 409로 응답한다)
+     */
+    public static class DuplicateInFlightException extends RuntimeException {
+        public DuplicateInFlightException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * 메시지를 저장하고 방 구독자에게 전달한다.
+     * 같은 clientMessageId로 다시 보낸 요청에는 처음 저장된 메시지를 그대로 돌려준다.
+     *
+     * @throws DuplicateInFlightException 같은 메시지의 이전 요청이 아직 처리 중이거나 실패한 경우
+     */
+    public ChatMessageResponseDTO send(Long roomId, String sender, ChatMessageRequestDTO request) {
+        RoomSequenceLog.RoomLog log = roomSequenceLog.room(roomId);
+        String clientMessageId = request.getClientMessageId();
+        if (clientMessageId == null) {
+            return store(roomId, log, sender, request.getContent(), null);
+        }
+
+        CompletableFuture<ChatMessageResponseDTO> mine = new CompletableFuture<>();
+        CompletableFuture<ChatMessageResponseDTO> existing = log.claim(sender, clientMessageId, mine);
+        if (existing != null) {
+            return awaitDuplicate(existing);
+        }
+
+        try {
+            ChatMessageResponseDTO result = store(roomId, log, sender, request.getContent(), clientMessageId);
+            mine.complete(result);
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            // 버퍼에서 이미 밀려난 오래된 재전송: 유니크 제약에 걸렸으므로 원본을 찾아 돌려준다.
+            // (발급된 seq는 사용되지 않고 비게 된다)
+            ChatMessage original = chatMessageRepository.findByRoomIdAndSenderAndClientMessageId(roomId, sender,
+                    clientMessageId);
+            log.abandon(sender, clientMessageId, mine);
+            if (original == null) {
+                mine.completeExceptionally(e);
+                throw e;
+            }
+            ChatMessageResponseDTO result = ChatMessageResponseDTO.from(original);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            log.abandon(sender, clientMessageId, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * afterSeq 이후의 메시지를 seq 오름차순으로 반환한다. (최대 chat.replay.max-messages개)
+     * 결과가 최대 개수만큼 찼다면 클라이언트는 마지막 seq로 다시 요청해야 한다.
+     */
+    public List<ChatMessageResponseDTO> resume(Long roomId, long afterSeq) {
+        RoomSequenceLog.RoomLog log = roomSequenceLog.room(roomId);
+        // since()보다 먼저 읽는다. 이 값 이하의 메시지는 모두 DB에 저장되어 있다.
+        long committedSeq = log.committedSeq();
+        List<ChatMessageResponseDTO> buffered = log.since(afterSeq);
+        if (buffered != null && buffered.size() <= maxReplay) {
+            return buffered;
+        }
+        return messageHistoryService.after(roomId, afterSeq, committedSeq, maxReplay);
+    }
+
+    public int getMaxReplay() {
+        return maxReplay;
+    }
+
+    private ChatMessageResponseDTO store(Long roomId, RoomSequenceLog.RoomLog log, String sender, String content,
+            String clientMessageId) {
+        ChatMessage message = new ChatMessage();
+        message.setRoomId(roomId);
+        message.setSeq(log.nextSeq());
+        message.setSender(sender);
+        message.setContent(content);
+        message.setClientMessageId(clientMessageId);
+        message.setCreatedAt(LocalDateTime.now());
+        Consumer<ChatMessageResponseDTO> publish = committed -> roomStreamService.publish(roomId, MESSAGE_EVENT,
+                committed.getSeq(), committed);
+        try {
+            chatMessageRepository.save(message);
+        } catch (RuntimeException e) {
+            // 발급된 seq를 비워 두고 넘어가야 뒤의 메시지가 막히지 않는다.
+            log.skip(message.getSeq(), publish);
+            throw e;
+        }
+
+        ChatMessageResponseDTO result = ChatMessageResponseDTO.from(message);
+        log.commit(result, publish);
+        messageSearchIndex.index(roomId, message.getId(), content);
+        unreadCountService.onMessage(roomId, sender);
+        return result;
+    }
+
+    private ChatMessageResponseDTO awaitDuplicate(CompletableFuture<ChatMessageResponseDTO> existing) {
+        try {
+            return existing.get(DUPLICATE_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DuplicateInFlightException("중복 메시지 처리 대기 중 인터럽트되었습니다.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new DuplicateInFlightException("같은 메시지의 이전 요청이 아직 처리되지 않았습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.chatapp.chat_backend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.chatapp.chat_backend.entity.ChatRoom;
+import com.chatapp.chat_backend.entity.ChatRoomMember;
+import com.chatapp.chat_backend.repository.ChatRoomMemberRepository;
+import com.chatapp.chat_backend.repository.ChatRoomRepository;
+
+/**
+ * 채팅방 생성, 참여, 참여 여부 확인을 담당하는 서비스이다.
+ *
+ * 메시지 전송/조회/스트림 구독마다 "이 사용자가 방 멤버인가?"를 확인해야 하므로
+ * 방별 멤버 목록을 메모리에 캐시한다. (처음 조회할 때 DB에서 한 번 읽어온다)
+ * 단일 서버 기준이며, join()을 통해서만 멤버가 추가된다고 가정한다.
+ */
+@Service
+public class ChatRoomService {
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+
+    // roomId -> 멤버 username 집합
+    private final ConcurrentHashMap<Long, Set<String>> membersByRoom = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChatRoomService(ChatRoomRepository chatRoomRepository, ChatRoomMemberRepository chatRoomMemberRepository) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.chatRoomMemberRepository = chatRoomMemberRepository;
+    }
+
+    /**
+     * 방을 만들고 만든 사람을 첫 번째 멤버로 등록한다.
+     */
+    public ChatRoom createRoom(String name, String creator) {
+        ChatRoom room = new ChatRoom();
+        room.setName(name);
+        room.setCreatedBy(creator);
+        room.setCreatedAt(LocalDateTime.now());
+        chatRoomRepository.save(room);
+
+        join(room.getId(), creator);
+        return room;
+    }
+
+    /**
+     * 사용자를 방에 참여시킨다. 이미 참여 중이면 아무것도 하지 않는다.
+     *
+     * @return 방이 존재하지 않으면 false
+     */
+    public boolean join(Long roomId, String username) {
+        if (!chatRoomRepository.existsById(roomId)) {
+            return false;
+        }
+        if (isMember(roomId, username)) {
+            return true;
+        }
+
+        ChatRoomMember member = new ChatRoomMember();
+        member.setRoomId(roomId);
+        member.setUsername(username);
+        member.setJoinedAt(LocalDateTime.now());
+        try {
+            chatRoomMemberRepository.save(member);
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 같은 참여 요청이 들어온 경우: 유니크 제약에 걸렸다면 이미 멤버이다.
+        }
+        members(roomId).add(username);
+        return true;
+    }
+
+    public boolean isMember(Long roomId, String username) {
+        return username != null && members(roomId).contains(username);
+    }
+
+    /**
+     * 방 멤버 username 집합 (캐시). 존재하지 않는 방이면 빈 집합이다.
+     * 존재하지 않는 방은 캐시하지 않는다. (임의의 roomId 요청마다 캐시 항목이 늘어나지 않도록)
+     */
+    public Set<String> members(Long roomId) {
+        Set<String> cached = membersByRoom.get(roomId);
+        if (cached != null) {
+            return cached;
+        }
+        if (!chatRoomRepository.existsById(roomId)) {
+            return Set.of();
+        }
+        return membersByRoom.computeIfAbsent(roomId, id -> {
+            Set<String> members = ConcurrentHashMap.newKeySet();
+            for (ChatRoomMember member : chatRoomMemberRepository.findByRoomId(id)) {
+                members.add(member.getUsername());
+            }
+            return members;
+        });
+    }
+
+    /**
+     * 사용자가 참여한 방 목록
+     */
+    public List<ChatRoom> roomsOf(String username) {
+        return chatRoomRepository.findAllById(roomIdsOf(username));
+    }
+
+    /**
+     * 사용자가 참여한 방 id 목록
+     */
+    public List<Long> roomIdsOf(String username) {
+        return chatRoomMemberRepository.findByUsername(username).stream()
+                .map(ChatRoomMember::getRoomId)
+                .toList();
+    }
+}
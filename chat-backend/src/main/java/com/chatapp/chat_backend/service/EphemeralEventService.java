@@ -0,0 +1,99 @@
+package com.chatapp.chat_backend.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.chatapp.chat_backend.dto.EphemeralEventDTO;
+
+/**
+ * 입력 중 표시, 접속 상태 핑처럼 저장할 필요 없는 일시적 이벤트를 모아서 전달하는 서비스이다.
+ *
+ * 클라이언트는 이런 이벤트를 초당 여러 번 보내기도 하는데, 하나하나 방 전체에 중계하면
+ * 전송량이 (이벤트 수 × 구독자 수)로 늘어난다. 그래서
+ * 1. (방, 사용자)마다 가장 최근 이벤트 하나만 남긴다. (이전 이벤트는 버림)
+ * 2. window-ms마다 방별로 모인 이벤트를 하나의 "ephemeral" 스트림 프레임으로 보낸다.
+ * 3. 직전에 보낸 것과 같은 종류의 이벤트는 refresh-ms가 지나기 전까지 다시 보내지 않는다.
+ *    (계속 입력 중이면 refresh-ms마다 한 번만 전달된다)
+ *
+ * 결과적으로 방 하나의 일시적 이벤트 전송은 클라이언트가 얼마나 자주 보내든
+ * window-ms당 최대 한 프레임, 프레임당 최대 멤버 수만큼의 항목으로 제한된다.
+ * DB에는 아무것도 저장하지 않는다.
+ */
+@Service
+public class EphemeralEventService {
+
+    public static final String EPHEMERAL_EVENT = "ephemeral";
+
+    private final RoomStreamService roomStreamService;
+    private final long refreshMillis;
+
+    // roomId -> (username -> 아직 보내지 않은 최신 이벤트)
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, EphemeralEventDTO>> pending = new ConcurrentHashMap<>();
+
+    // roomId -> (username -> 마지막으로 보낸 이벤트). 같은 이벤트 반복 전송 억제용
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, EphemeralEventDTO>> lastSent = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EphemeralEventService(RoomStreamService roomStreamService,
+            @Value("${chat.ephemeral.refresh-ms:3000}") long refreshMillis) {
+        this.roomStreamService = roomStreamService;
+        this.refreshMillis = refreshMillis;
+    }
+
+    /**
+     * 이벤트를 접수한다. 같은 (방, 사용자)의 이전 미전송 이벤트는 덮어쓴다. (락 없음)
+     */
+    public void submit(Long roomId, String username, String type) {
+        pending.computeIfAbsent(roomId, id -> new ConcurrentHashMap<>())
+                .put(username, new EphemeralEventDTO(username, type, System.currentTimeMillis()));
+    }
+
+    /**
+     * window-ms마다 방별로 모인 이벤트를 한 프레임으로 보낸다.
+     */
+    @Scheduled(fixedRateString = "${chat.ephemeral.window-ms:250}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, ConcurrentHashMap<String, EphemeralEventDTO>> room : pending.entrySet()) {
+            ConcurrentHashMap<String, EphemeralEventDTO> roomPending = room.getValue();
+            if (roomPending.isEmpty()) {
+                continue;
+            }
+            ConcurrentHashMap<String, EphemeralEventDTO> roomSent = lastSent.computeIfAbsent(room.getKey(),
+                    id -> new ConcurrentHashMap<>());
+
+            List<EphemeralEventDTO> frame = new ArrayList<>();
+            Iterator<String> users = roomPending.keySet().iterator();
+            while (users.hasNext()) {
+                String username = users.next();
+                // remove로 꺼내야 그 사이 새로 들어온 이벤트가 다음 tick으로 넘어간다.
+                EphemeralEventDTO event = roomPending.remove(username);
+                if (event == null) {
+                    continue;
+                }
+                EphemeralEventDTO previous = roomSent.get(username);
+                if (previous != null && previous.getType().equals(event.getType())
+                        && event.getAt() - previous.getAt() < refreshMillis) {
+                    continue; // 상대방 화면에 이미 표시 중인 상태
+                }
+                roomSent.put(username, event);
+                frame.add(event);
+            }
+
+            // 오래된 전송 기록 정리 (다음에 같은 이벤트가 오면 다시 보낸다)
+            roomSent.values().removeIf(sent -> now - sent.getAt() >= refreshMillis);
+
+            if (!frame.isEmpty()) {
+                roomStreamService.publish(room.getKey(), EPHEMERAL_EVENT, null, frame);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.chatapp.chat_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.chatapp.chat_backend.archive.MessageArchive;
+import com.chatapp.chat_backend.dto.ChatMessageResponseDTO;
+import com.chatapp.chat_backend.entity.ChatMessage;
+import com.chatapp.chat_backend.repository.ChatMessageRepository;
+
+/**
+ * 최근 메시지(DB)와 오래된 메시지(보관소)를 하나의 기록처럼 조회하는 서비스이다.
+ *
+ * 방의 보관된 메시지는 항상 DB 메시지보다 seq가 작으므로,
+ * 두 결과를 seq 순서대로 이어 붙이기만 하면 된다.
+ */
+@Service
+public class MessageHistoryService {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final MessageArchive messageArchive;
+
+    @Autowired
+    public MessageHistoryService(ChatMessageRepository chatMessageRepository, MessageArchive messageArchive) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.messageArchive = messageArchive;
+    }
+
+    /**
+     * beforeSeq 이전 메시지를 최신순(seq 내림차순)으로 최대 limit개 반환한다. (과거 기록 스크롤)
+     */
+    public List<ChatMessageResponseDTO> before(Long roomId, long beforeSeq, int limit) {
+        List<ChatMessage> messages = new ArrayList<>(
+                chatMessageRepository.findByRoomIdAndSeqLessThanOrderBySeqDesc(roomId, beforeSeq,
+                        PageRequest.of(0, limit)));
+        if (messages.size() < limit) {
+            long coldBefore = messages.isEmpty() ? beforeSeq : messages.get(messages.size() - 1).getSeq();
+            messages.addAll(messageArchive.readBefore(roomId, coldBefore, limit - messages.size()));
+        }
+        return messages.stream().map(ChatMessageResponseDTO::from).toList();
+    }
+
+    /**
+     * afterSeq 초과 upToSeq 이하 메시지를 seq 오름차순으로 최대 limit개 반환한다. (재접속 시 빈 구간)
+     * upToSeq에는 빈틈 없이 저장이 끝난 seq(RoomLog.committedSeq)를 넘긴다.
+     */
+    public List<ChatMessageResponseDTO> after(Long roomId, long afterSeq, long upToSeq, int limit) {
+        List<ChatMessage> messages = new ArrayList<>();
+        if (afterSeq >= upToSeq) {
+            return List.of();
+        }
+        if (afterSeq < messageArchive.lastArchivedSeq(roomId)) {
+            messages.addAll(messageArchive.readAfter(roomId, afterSeq, limit));
+        }
+        if (messages.size() < limit) {
+            long hotAfter = messages.isEmpty() ? afterSeq : messages.get(messages.size() - 1).getSeq();
+            if (hotAfter < upToSeq) {
+                messages.addAll(chatMessageRepository.findByRoomIdAndSeqBetweenOrderBySeqAsc(roomId, hotAfter + 1,
+                        upToSeq, PageRequest.of(0, limit - messages.size())));
+            }
+        }
+        return messages.stream().map(ChatMessageResponseDTO::from).toList();
+    }
+
+    /**
+     * 메시지 id 하나를 보관소에서 찾는다. (DB에서 이미 옮겨진 메시지)
+     */
+    public ChatMessage findArchived(Long roomId, long messageId) {
+        return messageArchive.findById(roomId, messageId);
+    }
+}
@@ -0,0 +1,112 @@
+package com.chatapp.chat_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.chatapp.chat_backend.dto.ChatMessageResponseDTO;
+import com.chatapp.chat_backend.entity.ChatMessage;
+import com.chatapp.chat_backend.repository.ChatMessageRepository;
+import com.chatapp.chat_backend.search.MessageSearchIndex;
+import com.chatapp.chat_backend.search.MessageTokenizer;
+import com.chatapp.chat_backend.search.SearchHit;
+
+/**
+ * 메시지 검색 서비스
+ *
+ * 1. 검색어를 토큰으로 자른다. (MessageTokenizer)
+ * 2. 사용자가 참여한 방들의 역색인에서 최신 메시지 id를 찾는다. (MessageSearchIndex)
+ * 3. 찾은 id의 메시지만 DB에서 기본키로 읽어온다. DB에 없으면 보관소로 옮겨진 메시지이므로 보관소에서 읽는다.
+ * 4. bigram이 떨어진 위치에서 우연히 맞은 경우를 걸러내기 위해
+ *    검색어 구간이 본문에 실제로 들어 있는지 한 번 더 확인한다.
+ *    걸러진 만큼 결과가 모자라면 마지막으로 본 id 이전부터 (더 크게) 이어서 찾는다.
+ */
+@Service
+public class MessageSearchService {
+
+    // 색인에서 한 번에 가져오는 후보 수의 최솟값/최댓값 (확인 단계에서 걸러질 것을 감안해 limit보다 많이 가져온다)
+    private static final int MIN_BATCH = 20;
+    private static final int MAX_BATCH = 1000;
+
+    private final MessageSearchIndex messageSearchIndex;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ChatRoomService chatRoomService;
+    private final MessageHistoryService messageHistoryService;
+
+    @Autowired
+    public MessageSearchService(MessageSearchIndex messageSearchIndex, ChatMessageRepository chatMessageRepository,
+            ChatRoomService chatRoomService, MessageHistoryService messageHistoryService) {
+        this.messageSearchIndex = messageSearchIndex;
+        this.chatMessageRepository = chatMessageRepository;
+        this.chatRoomService = chatRoomService;
+        this.messageHistoryService = messageHistoryService;
+    }
+
+    /**
+     * username이 참여한 방의 메시지 중 검색어를 포함하는 메시지를 최신순으로 반환한다.
+     */
+    public List<ChatMessageResponseDTO> search(String username, String query, int limit) {
+        Set<String> terms = MessageTokenizer.queryTerms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> roomIds = chatRoomService.roomIdsOf(username);
+        List<String> runs = MessageTokenizer.runs(query);
+        List<ChatMessageResponseDTO> results = new ArrayList<>(limit);
+        long beforeId = Long.MAX_VALUE;
+        int batch = Math.min(Math.max(limit * 2, MIN_BATCH), MAX_BATCH);
+        while (results.size() < limit) {
+            List<SearchHit> hits = messageSearchIndex.search(roomIds, terms, batch, beforeId);
+            verify(hits, runs, limit, results);
+            if (hits.size() < batch) {
+                break; // 색인에 더 이상 후보가 없다.
+            }
+            beforeId = hits.get(hits.size() - 1).getMessageId();
+            batch = Math.min(batch * 2, MAX_BATCH);
+        }
+        return results;
+    }
+
+    /**
+     * 후보 메시지를 읽어 검색어 구간이 실제로 들어 있는 것만 results에 추가한다. (최대 limit개까지)
+     */
+    private void verify(List<SearchHit> hits, List<String> runs, int limit, List<ChatMessageResponseDTO> results) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.getMessageId());
+        }
+        Map<Long, ChatMessage> hot = chatMessageRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ChatMessage::getId, Function.identity()));
+
+        for (SearchHit hit : hits) { // 이미 최신순
+            if (results.size() >= limit) {
+                return;
+            }
+            ChatMessage message = hot.get(hit.getMessageId());
+            if (message == null) {
+                message = messageHistoryService.findArchived(hit.getRoomId(), hit.getMessageId());
+            }
+            if (message != null && containsAll(message.getContent(), runs)) {
+                results.add(ChatMessageResponseDTO.from(message));
+            }
+        }
+    }
+
+    private static boolean containsAll(String content, List<String> runs) {
+        String lower = content.toLowerCase(Locale.ROOT);
+        for (String run : runs) {
+            if (!lower.contains(run)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,82 @@
+package com.chatapp.chat_backend.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.chatapp.chat_backend.entity.User;
+import com.chatapp.chat_backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 로그인에 성공한 사용자의 비밀번호 해시가 오래된 정책(낮은 cost, 다른 알고리즘, prefix 없음)으로
+ * 만들어졌다면 백그라운드에서 새 정책으로 다시 해시해 저장하는 서비스이다.
+ *
+ * - 재해시는 BCrypt 1회 비용이 들기 때문에 로그인 요청 스레드에서 하지 않는다.
+ * - 전용 스레드 1개와 크기가 제한된 큐를 사용하며, 큐가 가득 차면 작업을 버린다.
+ *   (버려진 사용자는 다음 로그인 때 다시 시도된다)
+ * - 저장은 compare-and-set(updatePasswordIfUnchanged)으로 하므로
+ *   그 사이 사용자가 비밀번호를 바꿨다면 덮어쓰지 않는다.
+ */
+@Service
+public class PasswordRehashService {
+
+    private static final int QUEUE_CAPACITY = 1000;
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final Counter rehashedCounter;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public PasswordRehashService(PasswordEncoder passwordEncoder, UserRepository userRepository,
+            MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.rehashedCounter = Counter.builder("users.password.rehashed")
+                .description("로그인 시 새 정책으로 재해시된 비밀번호 수")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * 비밀번호 검증(matches)에 성공한 직후 호출한다.
+     * 해시가 최신 정책이면 아무것도 하지 않는다.
+     *
+     * @param user        로그인한 사용자 (저장된 해시 포함)
+     * @param rawPassword 방금 검증된 평문 비밀번호
+     */
+    public void rehashIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+
+        Long userId = user.getId();
+        executor.execute(() -> {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordIfUnchanged(userId, currentHash, newHash) > 0) {
+                rehashedCounter.increment();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,204 @@
+package com.chatapp.chat_backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.chatapp.chat_backend.archive.MessageArchive;
+import com.chatapp.chat_backend.dto.ChatMessageResponseDTO;
+import com.chatapp.chat_backend.repository.ChatMessageRepository;
+
+/**
+ * 방별 메시지 순번(seq)과 최근 메시지 버퍼를 관리하는 클래스이다.
+ *
+ * 방마다 RoomLog 하나를 메모리에 두며, 다음 네 가지를 담는다.
+ * 1. lastSeq: seq 카운터. AtomicLong.incrementAndGet()으로 락 없이 단조 증가하는 번호를 발급한다.
+ *    서버 재시작 후 처음 접근할 때 DB의 MAX(seq)로 복원한다. (모두 보관소로 옮겨졌다면 보관소의 마지막 seq)
+ * 2. committedSeq: 빈틈 없이 처리가 끝난(저장 또는 저장 실패) 마지막 seq.
+ *    seq 발급과 DB 저장 사이에는 순서가 뒤바뀔 수 있으므로(10번보다 11번이 먼저 저장됨)
+ *    실시간 전송과 재접속 조회는 이 값까지만 한다. 그래야 클라이언트가 아직 저장 중인 seq를 건너뛰지 않는다.
+ * 3. recent: 최근 메시지 링 버퍼. seq % capacity 칸에 저장하므로 최근 capacity개까지 보관된다.
+ *    재접속한 클라이언트의 빈 구간은 가능하면 여기서 바로 채워서 DB 조회를 피한다.
+ * 4. claims: 클라이언트 재전송 중복 제거용. (sender, clientMessageId) -> 처리 결과(Future)
+ *    링 버퍼에서 밀려난 메시지의 항목은 함께 지우므로 크기가 버퍼 크기 수준으로 제한된다.
+ *
+ * 단일 서버 기준이다. 서버가 여러 대라면 seq 발급을 공유 저장소로 옮겨야 한다.
+ */
+@Component
+public class RoomSequenceLog {
+
+    private final ChatMessageRepository chatMessageRepository;
+    private final MessageArchive messageArchive;
+    private final int capacity;
+
+    private final ConcurrentHashMap<Long, RoomLog> rooms = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RoomSequenceLog(ChatMessageRepository chatMessageRepository, MessageArchive messageArchive,
+            @Value("${chat.replay.buffer-size:256}") int capacity) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.messageArchive = messageArchive;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 방의 RoomLog를 반환한다. 없으면 DB/보관소의 마지막 seq로 카운터를 초기화해서 만든다.
+     */
+    public RoomLog room(Long roomId) {
+        return rooms.computeIfAbsent(roomId, id -> {
+            Long maxSeq = chatMessageRepository.findMaxSeq(id);
+            long lastSeq = Math.max(maxSeq == null ? 0L : maxSeq, messageArchive.lastArchivedSeq(id));
+            return new RoomLog(lastSeq, capacity);
+        });
+    }
+
+    /**
+     * 방 하나의 seq 카운터, 최근 메시지 버퍼, 재전송 처리 상태
+     */
+    public static class RoomLog {
+
+        // 저장에 실패해 건너뛴 seq 표시
+        private static final Object SKIPPED = new Object();
+
+        private final AtomicLong lastSeq;
+        // 이 seq까지는 빈틈 없이 처리가 끝났다. (쓰기는 이 객체의 모니터 안에서만)
+        private volatile long committedSeq;
+        // committedSeq보다 뒤인데 먼저 끝난 seq -> 메시지(또는 SKIPPED). 앞 seq가 끝나면 차례로 꺼낸다.
+        private final Map<Long, Object> completedAhead = new HashMap<>();
+        // 이 seq부터는 (저장에 성공했다면) 버퍼를 거쳐 갔다. 그 이전은 DB에만 있다.
+        private final long firstBufferedSeq;
+        private final AtomicReferenceArray<ChatMessageResponseDTO> recent;
+        private final ConcurrentHashMap<String, CompletableFuture<ChatMessageResponseDTO>> claims = new ConcurrentHashMap<>();
+
+        RoomLog(long lastSeq, int capacity) {
+            this.lastSeq = new AtomicLong(lastSeq);
+            this.committedSeq = lastSeq;
+            this.firstBufferedSeq = lastSeq + 1;
+            this.recent = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * 다음 seq를 발급한다. (락 없음)
+         * 발급받은 쪽은 저장 결과와 관계없이 반드시 commit() 또는 skip()을 호출해야 한다.
+         * (호출하지 않으면 그 뒤의 메시지가 전달되지 않는다)
+         */
+        public long nextSeq() {
+            return lastSeq.incrementAndGet();
+        }
+
+        public long lastSeq() {
+            return lastSeq.get();
+        }
+
+        /**
+         * 빈틈 없이 저장이 끝난 마지막 seq. 이 값 이하의 저장된 메시지는 모두 DB에서 보인다.
+         */
+        public long committedSeq() {
+            return committedSeq;
+        }
+
+        /**
+         * 저장이 끝난 메시지를 알린다.
+         * 앞선 seq가 모두 끝났다면 committedSeq를 올리면서, 새로 이어진 메시지를 seq 순서대로
+         * 버퍼에 넣고 onCommitted로 넘긴다. (앞 seq가 아직 저장 중이면 그 요청이 끝날 때 함께 넘어간다)
+         * onCommitted는 방 단위 락 안에서 호출되므로 오래 걸리는 작업을 하면 안 된다.
+         */
+        public void commit(ChatMessageResponseDTO message, Consumer<ChatMessageResponseDTO> onCommitted) {
+            complete(message.getSeq(), message, onCommitted);
+        }
+
+        /**
+         * 발급받았지만 저장하지 못한 seq를 알린다. (빈 번호로 남기고 다음 seq로 넘어간다)
+         */
+        public void skip(long seq, Consumer<ChatMessageResponseDTO> onCommitted) {
+            complete(seq, SKIPPED, onCommitted);
+        }
+
+        private synchronized void complete(long seq, Object result, Consumer<ChatMessageResponseDTO> onCommitted) {
+            completedAhead.put(seq, result);
+            Object next;
+            while ((next = completedAhead.remove(committedSeq + 1)) != null) {
+                committedSeq = committedSeq + 1;
+                if (next != SKIPPED) {
+                    ChatMessageResponseDTO message = (ChatMessageResponseDTO) next;
+                    append(message);
+                    onCommitted.accept(message);
+                }
+            }
+        }
+
+        /**
+         * 재전송 중복 제거: 이 (sender, clientMessageId)를 처음 처리하는 요청이면 null을,
+         * 이미 처리 중이거나 처리된 요청이면 그 결과 Future를 반환한다.
+         * null을 받은 요청은 mine을 완료시켜야 하며, 결과를 append()하지 않는 경우에는 abandon()도 호출해야 한다.
+         */
+        public CompletableFuture<ChatMessageResponseDTO> claim(String sender, String clientMessageId,
+                CompletableFuture<ChatMessageResponseDTO> mine) {
+            return claims.putIfAbsent(claimKey(sender, clientMessageId), mine);
+        }
+
+        /**
+         * 저장에 실패한 요청의 claim을 해제한다. (클라이언트가 다시 시도할 수 있도록)
+         */
+        public void abandon(String sender, String clientMessageId, CompletableFuture<ChatMessageResponseDTO> mine) {
+            claims.remove(claimKey(sender, clientMessageId), mine);
+        }
+
+        /**
+         * 저장된 메시지를 링 버퍼에 넣는다. (complete()에서 seq 순서대로 호출된다)
+         * 밀려난 메시지의 재전송 claim은 함께 제거한다.
+         */
+        private void append(ChatMessageResponseDTO message) {
+            int index = slot(message.getSeq());
+            ChatMessageResponseDTO old = recent.getAndSet(index, message);
+            if (old != null && old.getClientMessageId() != null) {
+                claims.remove(claimKey(old.getSender(), old.getClientMessageId()));
+            }
+        }
+
+        /**
+         * afterSeq 이후 committedSeq까지의 메시지를 버퍼에서 꺼낸다.
+         *
+         * - committedSeq 이후(아직 앞 seq가 저장 중인 구간)는 반환하지 않는다. 곧 실시간으로 전달된다.
+         * - 저장에 실패해 건너뛴 seq는 결과에 없다.
+         * - 필요한 구간이 이미 버퍼에서 밀려났다면 null을 반환한다. 호출한 쪽은 DB에서 조회해야 한다.
+         */
+        public List<ChatMessageResponseDTO> since(long afterSeq) {
+            long latest = committedSeq;
+            if (afterSeq + 1 < firstBufferedSeq || latest - afterSeq > recent.length()) {
+                return null;
+            }
+
+            List<ChatMessageResponseDTO> result = new ArrayList<>();
+            for (long seq = afterSeq + 1; seq <= latest; seq++) {
+                ChatMessageResponseDTO message = recent.get(slot(seq));
+                if (message == null || message.getSeq() < seq) {
+                    continue; // 저장에 실패해 건너뛴 seq
+                }
+                if (message.getSeq() > seq) {
+                    return null; // 이미 밀려남
+                }
+                result.add(message);
+            }
+            return result;
+        }
+
+        private int slot(long seq) {
+            return (int) (seq % recent.length());
+        }
+
+        private static String claimKey(String sender, String clientMessageId) {
+            return sender + '\n' + clientMessageId;
+        }
+    }
+}
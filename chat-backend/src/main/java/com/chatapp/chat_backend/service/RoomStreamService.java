@@ -0,0 +1,287 @@
+package com.chatapp.chat_backend.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 채팅방 실시간 스트림(Server-Sent Events) 구독자를 관리하는 서비스이다.
+ *
+ * 클라이언트는 GET /api/rooms/{roomId}/stream 으로 구독하고, 서버는 새 메시지를
+ * "id: seq" 가 붙은 이벤트로 보낸다. 연결이 끊기면 브라우저의 EventSource가 마지막 id를
+ * Last-Event-ID 헤더에 담아 자동 재접속하므로, 서버는 그 이후 구간만 다시 보내면 된다.
+ *
+ * 전송 방식:
+ * - publish()는 구독자별 대기열(최대 queue-size개)에 이벤트를 넣기만 하고 바로 돌아간다.
+ *   실제 쓰기(SseEmitter.send, 블로킹)는 전송 스레드(room-stream)가 구독자마다 하나씩 순서대로 한다.
+ *   따라서 느린 클라이언트가 있어도 메시지를 보낸 요청이나 스케줄러 스레드가 막히지 않는다.
+ * - 대기열이 가득 찬 구독자(따라오지 못하는 클라이언트)는 연결을 닫는다.
+ *   클라이언트는 Last-Event-ID로 재접속해 빠진 구간을 다시 받는다.
+ * - 재접속 시 빈 구간(replay)을 먼저 보내고, 그동안 들어온 실시간 이벤트는 그 뒤에 보낸다.
+ *   이미 보낸 seq 이하의 이벤트는 다시 보내지 않는다. (seq 오름차순 전달)
+ */
+@Service
+public class RoomStreamService {
+
+    private final long timeoutMillis;
+    private final int queueSize;
+    private final Counter slowClosedCounter;
+    private final ThreadPoolExecutor executor;
+
+    // roomId -> 구독자 목록
+    private final ConcurrentHashMap<Long, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RoomStreamService(@Value("${chat.stream.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${chat.stream.queue-size:1024}") int queueSize,
+            @Value("${chat.stream.sender-threads:8}") int senderThreads,
+            MeterRegistry meterRegistry) {
+        this.timeoutMillis = timeoutMillis;
+        this.queueSize = queueSize;
+        this.slowClosedCounter = Counter.builder("chat.stream.slow.closed")
+                .description("대기열이 가득 차서 닫은 스트림 연결 수")
+                .register(meterRegistry);
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 구독자 하나당 전송 작업은 최대 하나만 대기하므로 작업 큐의 크기는 구독자 수로 제한된다.
+        this.executor = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "room-stream-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * 스트림으로 보낼 이벤트 하나
+     */
+    public static final class StreamEvent {
+        private final String name;
+        // 이벤트 id (메시지 seq). 재접속 기준이 되지 않는 이벤트는 null
+        private final Long id;
+        private final Object data;
+
+        public StreamEvent(String name, Long id, Object data) {
+            this.name = name;
+            this.id = id;
+            this.data = data;
+        }
+    }
+
+    /**
+     * 방 스트림을 구독할 SseEmitter를 만들어 등록한다.
+     * 연결 종료, 타임아웃, 오류 시 자동으로 목록에서 제거된다.
+     *
+     * @param replay 구독을 등록한 뒤 호출되어, 실시간 이벤트보다 먼저 보낼 이벤트(빈 구간)를 만든다. (없으면 null)
+     *               등록 후에 조회하므로 그 사이에 저장된 메시지도 놓치지 않는다.
+     */
+    public SseEmitter subscribe(Long roomId, Supplier<List<StreamEvent>> replay) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        List<Subscriber> roomSubscribers = subscribers.computeIfAbsent(roomId, id -> new CopyOnWriteArrayList<>());
+        Subscriber subscriber = new Subscriber(emitter, roomSubscribers, replay != null);
+        roomSubscribers.add(subscriber);
+
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(e -> subscriber.detach());
+
+        if (replay != null) {
+            try {
+                subscriber.replay(replay.get());
+            } catch (RuntimeException e) {
+                roomSubscribers.remove(subscriber);
+                throw e;
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * 방의 모든 구독자 대기열에 이벤트를 넣는다. (쓰기를 기다리지 않음)
+     *
+     * @param id 이벤트 id (메시지 seq). 재접속 기준이 되지 않는 이벤트는 null
+     */
+    public void publish(Long roomId, String eventName, Long id, Object data) {
+        List<Subscriber> roomSubscribers = subscribers.get(roomId);
+        if (roomSubscribers == null) {
+            return;
+        }
+        StreamEvent event = new StreamEvent(eventName, id, data);
+        for (Subscriber subscriber : roomSubscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 구독자 하나의 대기열과 전송 상태
+     *
+     * 상태 변경은 모두 이 객체의 모니터 안에서 하고, SseEmitter.send는 모니터 밖(전송 스레드)에서 한다.
+     * draining이 true인 동안 이 구독자의 전송 작업은 하나만 실행된다.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final List<Subscriber> roomSubscribers;
+        private final ArrayDeque<StreamEvent> queue = new ArrayDeque<>();
+
+        // 빈 구간을 조회하는 동안에는 실시간 이벤트를 쌓아두기만 한다.
+        private boolean replaying;
+        // 대기열에 넣은 마지막 seq (이하의 seq는 중복이므로 넣지 않는다)
+        private long lastSeq = Long.MIN_VALUE;
+        private boolean draining;
+        // 더 보내지 않고 연결을 닫아야 하는 상태
+        private boolean closed;
+        // 연결이 이미 끝나서 emitter를 건드리지 않아도 되는 상태
+        private boolean detached;
+
+        Subscriber(SseEmitter emitter, List<Subscriber> roomSubscribers, boolean replaying) {
+            this.emitter = emitter;
+            this.roomSubscribers = roomSubscribers;
+            this.replaying = replaying;
+        }
+
+        synchronized void offer(StreamEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!replaying && isDuplicate(event)) {
+                return;
+            }
+            if (queue.size() >= queueSize) {
+                // 따라오지 못하는 클라이언트: 닫고 재접속(Last-Event-ID)으로 따라잡게 한다.
+                slowClosedCounter.increment();
+                queue.clear();
+                close();
+                return;
+            }
+            enqueue(event);
+            if (!replaying) {
+                scheduleDrain();
+            }
+        }
+
+        /**
+         * 빈 구간 이벤트를 맨 앞에 두고, 그동안 쌓인 실시간 이벤트 중 중복이 아닌 것을 뒤에 붙인다.
+         */
+        synchronized void replay(List<StreamEvent> events) {
+            if (closed) {
+                return;
+            }
+            ArrayDeque<StreamEvent> live = new ArrayDeque<>(queue);
+            queue.clear();
+            lastSeq = Long.MIN_VALUE;
+            for (StreamEvent event : events) {
+                enqueue(event);
+            }
+            for (StreamEvent event : live) {
+                if (!isDuplicate(event)) {
+                    enqueue(event);
+                }
+            }
+            replaying = false;
+            scheduleDrain();
+        }
+
+        /**
+         * 연결 종료/타임아웃/오류 콜백. 이후로는 아무것도 보내지 않는다.
+         */
+        synchronized void detach() {
+            detached = true;
+            closed = true;
+            queue.clear();
+            roomSubscribers.remove(this);
+        }
+
+        private boolean isDuplicate(StreamEvent event) {
+            return event.id != null && event.id <= lastSeq;
+        }
+
+        private void enqueue(StreamEvent event) {
+            queue.add(event);
+            if (event.id != null) {
+                lastSeq = event.id;
+            }
+        }
+
+        private void close() {
+            closed = true;
+            roomSubscribers.remove(this);
+            // 진행 중인 전송이 없으면 전송 스레드에서 연결을 닫는다. (complete도 쓰기 락을 기다릴 수 있음)
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                StreamEvent event;
+                boolean complete;
+                synchronized (this) {
+                    event = closed ? null : queue.poll();
+                    if (event == null) {
+                        draining = false;
+                        complete = closed && !detached;
+                        detached = detached || complete;
+                    } else {
+                        complete = false;
+                    }
+                }
+                if (event == null) {
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                if (!write(event)) {
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private boolean write(StreamEvent event) {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name).data(event.data);
+            if (event.id != null) {
+                builder.id(String.valueOf(event.id));
+            }
+            try {
+                emitter.send(builder);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // 이미 끊긴 연결: onError/onCompletion 콜백에서 목록에서 제거된다.
+                detach();
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
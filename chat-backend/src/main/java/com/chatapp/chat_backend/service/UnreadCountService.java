@@ -0,0 +1,193 @@
+package com.chatapp.chat_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chatapp.chat_backend.entity.ChatRoomMember;
+import com.chatapp.chat_backend.repository.ChatRoomMemberRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 방별·사용자별 읽지 않은 메시지 수를 관리하는 서비스이다.
+ *
+ * 메시지 하나가 올 때마다 멤버 수만큼 UPDATE를 날리면 DB 쓰기가 (메시지 수 × 멤버 수)가 된다.
+ * 대신 증가분을 메모리의 LongAdder(내부적으로 스레드별로 나뉜 카운터)에 모아 두고,
+ * 주기적으로 변경된 (방, 사용자) 쌍만 한 번의 배치 UPDATE로 기록한다.
+ * DB 쓰기는 (flush 주기 동안 변경된 쌍의 수)로 줄어든다.
+ * 변경된 카운터는 dirty 대기열에 한 번씩만 들어가므로, flush는 전체 쌍이 아니라 변경된 쌍만 훑는다.
+ *
+ * - 조회: 항상 메모리 값(base + 아직 기록되지 않은 증가분)을 반환한다.
+ *   flush가 증가분을 base로 옮기는 도중의 값이 보이지 않도록 카운터 락 안에서 읽는다.
+ *   (증가는 락 없이 LongAdder에 하므로 락을 잡는 쪽은 조회, 읽음 처리, flush뿐이다)
+ * - 읽음 처리: 메모리 값을 바로 0으로 만들기 때문에 직후 조회에서 0이 보인다. (read-your-writes)
+ * - 방의 카운터는 처음 접근할 때 DB에서 멤버별 값을 한 번에 읽어와 시작한다.
+ *
+ * 단일 서버 기준이며, 서버가 비정상 종료되면 마지막 flush 이후의 증가분은 유실될 수 있다.
+ */
+@Service
+public class UnreadCountService {
+
+    private static final String FLUSH_SQL = "UPDATE chat_room_members SET unread_count = ? WHERE room_id = ? AND username = ?";
+
+    private final ChatRoomMemberRepository chatRoomMemberRepository;
+    private final ChatRoomService chatRoomService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // roomId -> (username -> 카운터)
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, Counter>> rooms = new ConcurrentHashMap<>();
+    // 마지막 flush 이후 변경된 카운터 (카운터마다 최대 한 번만 들어간다)
+    private final ConcurrentLinkedQueue<Counter> dirtyCounters = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public UnreadCountService(ChatRoomMemberRepository chatRoomMemberRepository, ChatRoomService chatRoomService,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.chatRoomMemberRepository = chatRoomMemberRepository;
+        this.chatRoomService = chatRoomService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * 새 메시지가 저장되면 보낸 사람을 제외한 방 멤버의 카운터를 1씩 올린다. (락 없음)
+     */
+    public void onMessage(Long roomId, String sender) {
+        ConcurrentHashMap<String, Counter> counters = room(roomId);
+        for (String member : chatRoomService.members(roomId)) {
+            if (!member.equals(sender)) {
+                Counter counter = counter(counters, roomId, member);
+                counter.pending.increment();
+                markDirty(counter);
+            }
+        }
+    }
+
+    public long unreadCount(Long roomId, String username) {
+        return counter(room(roomId), roomId, username).current();
+    }
+
+    /**
+     * 읽음 처리: 메모리 값을 즉시 0으로 만들고, 다음 flush 때 DB에 반영한다.
+     */
+    public void markRead(Long roomId, String username) {
+        Counter counter = counter(room(roomId), roomId, username);
+        synchronized (counter) {
+            // reset()은 동시에 들어온 증가를 잃을 수 있으므로 읽은 만큼만 뺀다. (이후 증가분은 안 읽은 메시지)
+            counter.pending.add(-counter.pending.sum());
+            counter.base = 0;
+            counter.dirty = true;
+        }
+        markDirty(counter);
+    }
+
+    /**
+     * 변경된 (방, 사용자) 쌍의 현재 값을 배치 UPDATE로 기록한다.
+     * 주기 작업 스레드 하나에서만 실행되므로 같은 쌍의 쓰기 순서가 뒤바뀌지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${chat.unread.flush-interval-ms:2000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Counter> flushed = new ArrayList<>();
+        // flush 도중 다시 들어오는 카운터는 다음 flush에서 처리한다.
+        for (int remaining = dirtyCounters.size(); remaining > 0; remaining--) {
+            Counter counter = dirtyCounters.poll();
+            if (counter == null) {
+                break;
+            }
+            // 대기열에서 꺼낸 뒤의 증가는 다시 대기열에 넣도록, 합계를 읽기 전에 표시를 지운다.
+            counter.queued.set(false);
+            long value;
+            synchronized (counter) {
+                long delta = counter.pending.sum();
+                if (delta == 0 && !counter.dirty) {
+                    continue;
+                }
+                counter.base += delta;
+                counter.pending.add(-delta);
+                counter.dirty = false;
+                value = counter.base;
+            }
+            batch.add(new Object[] { value, counter.roomId, counter.username });
+            flushed.add(counter);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // 기록에 실패한 쌍은 다음 flush 때 다시 시도한다. (값은 이미 base에 합쳐져 있다)
+            for (Counter counter : flushed) {
+                synchronized (counter) {
+                    counter.dirty = true;
+                }
+                markDirty(counter);
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private ConcurrentHashMap<String, Counter> room(Long roomId) {
+        return rooms.computeIfAbsent(roomId, id -> {
+            ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+            for (ChatRoomMember member : chatRoomMemberRepository.findByRoomId(id)) {
+                counters.put(member.getUsername(), new Counter(id, member.getUsername(), member.getUnreadCount()));
+            }
+            return counters;
+        });
+    }
+
+    private static Counter counter(ConcurrentHashMap<String, Counter> counters, Long roomId, String username) {
+        // 카운터를 읽어온 뒤에 참여한 멤버: DB에도 0으로 저장되어 있다.
+        return counters.computeIfAbsent(username, name -> new Counter(roomId, name, 0));
+    }
+
+    private void markDirty(Counter counter) {
+        if (!counter.queued.get() && counter.queued.compareAndSet(false, true)) {
+            dirtyCounters.add(counter);
+        }
+    }
+
+    /**
+     * (방, 사용자) 하나의 카운터
+     * base: 마지막 flush 시점까지 합쳐진 값 (this로 보호)
+     * pending: 아직 base에 합쳐지지 않은 증가분 (증가는 락 없이)
+     * dirty: 증가분과 별개로 DB에 다시 써야 하는 상태 (읽음 처리, 기록 실패)
+     * queued: dirtyCounters에 들어가 있는지 여부
+     */
+    private static final class Counter {
+        private final Long roomId;
+        private final String username;
+        private final LongAdder pending = new LongAdder();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private long base;
+        private boolean dirty;
+
+        private Counter(Long roomId, String username, long base) {
+            this.roomId = roomId;
+            this.username = username;
+            this.base = base;
+        }
+
+        private synchronized long current() {
+            return base + pending.sum();
+        }
+    }
+}
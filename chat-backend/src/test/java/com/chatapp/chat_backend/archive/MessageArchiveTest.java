@@ -0,0 +1,119 @@
+package com.chatapp.chat_backend.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.chatapp.chat_backend.entity.ChatMessage;
+
+/**
+ * MessageArchive / ArchiveSegment 테스트 (DB 없이 임시 디렉터리에 세그먼트를 쓰고 읽는다)
+ */
+class MessageArchiveTest {
+
+    private static final Long ROOM_ID = 7L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void findByIdLooksAtEveryBlockWhoseIdRangeCoversTheId() throws IOException {
+        // seq는 저장 전에 발급되므로 id 순서가 seq 순서와 다를 수 있다.
+        // 블록 0: seq 1~3 (id 10, 50, 11), 블록 1: seq 4~6 (id 12, 13, 14)
+        List<ChatMessage> messages = List.of(
+                message(1, 10), message(2, 50), message(3, 11),
+                message(4, 12), message(5, 13), message(6, 14));
+        MessageArchive archive = new MessageArchive(dir.toString(), 3);
+        archive.append(ROOM_ID, messages);
+
+        for (ChatMessage expected : messages) {
+            ChatMessage found = archive.findById(ROOM_ID, expected.getId());
+            assertNotNull(found, "id " + expected.getId());
+            assertEquals(expected.getSeq(), found.getSeq());
+        }
+        assertNull(archive.findById(ROOM_ID, 49));
+        assertNull(archive.findById(ROOM_ID, 51));
+    }
+
+    @Test
+    void segmentRoundTripsAllFieldsAfterReopen() throws IOException {
+        List<ChatMessage> messages = sequential(1, 10);
+        messages.get(3).setClientMessageId("client-4");
+        messages.get(5).setContent("한글 메시지 😀\n줄바꿈");
+        new MessageArchive(dir.toString(), 4).append(ROOM_ID, messages);
+
+        // 다시 열어도(서버 재시작) 같은 내용을 읽는다.
+        MessageArchive reopened = new MessageArchive(dir.toString(), 4);
+        List<ChatMessage> read = reopened.readAfter(ROOM_ID, 0, 100);
+        assertEquals(messages.size(), read.size());
+        for (int i = 0; i < messages.size(); i++) {
+            ChatMessage expected = messages.get(i);
+            ChatMessage actual = read.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getSeq(), actual.getSeq());
+            assertEquals(ROOM_ID, actual.getRoomId());
+            assertEquals(expected.getSender(), actual.getSender());
+            assertEquals(expected.getContent(), actual.getContent());
+            assertEquals(expected.getClientMessageId(), actual.getClientMessageId());
+            assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        }
+        assertEquals(10, reopened.lastArchivedSeq(ROOM_ID));
+    }
+
+    @Test
+    void readBeforeIsExclusiveAndNewestFirstAcrossBlocksAndSegments() throws IOException {
+        MessageArchive archive = new MessageArchive(dir.toString(), 4);
+        archive.append(ROOM_ID, sequential(1, 10));
+        archive.append(ROOM_ID, sequential(11, 20));
+
+        assertEquals(List.of(12L, 11L, 10L, 9L, 8L), seqs(archive.readBefore(ROOM_ID, 13, 5)));
+        assertEquals(List.of(4L, 3L, 2L, 1L), seqs(archive.readBefore(ROOM_ID, 5, 100)));
+        assertEquals(List.of(20L, 19L), seqs(archive.readBefore(ROOM_ID, Long.MAX_VALUE, 2)));
+        assertEquals(List.of(), seqs(archive.readBefore(ROOM_ID, 1, 10)));
+    }
+
+    @Test
+    void readAfterIsExclusiveAndOldestFirstAcrossBlocksAndSegments() throws IOException {
+        MessageArchive archive = new MessageArchive(dir.toString(), 4);
+        archive.append(ROOM_ID, sequential(1, 10));
+        archive.append(ROOM_ID, sequential(11, 20));
+
+        assertEquals(List.of(9L, 10L, 11L, 12L), seqs(archive.readAfter(ROOM_ID, 8, 4)));
+        assertEquals(List.of(1L, 2L), seqs(archive.readAfter(ROOM_ID, 0, 2)));
+        assertEquals(List.of(20L), seqs(archive.readAfter(ROOM_ID, 19, 10)));
+        assertEquals(List.of(), seqs(archive.readAfter(ROOM_ID, 20, 10)));
+        assertEquals(List.of(), seqs(archive.readAfter(99L, 0, 10)));
+    }
+
+    private static List<ChatMessage> sequential(long fromSeq, long toSeq) {
+        List<ChatMessage> messages = new ArrayList<>();
+        for (long seq = fromSeq; seq <= toSeq; seq++) {
+            messages.add(message(seq, 1000 + seq));
+        }
+        return messages;
+    }
+
+    private static ChatMessage message(long seq, long id) {
+        ChatMessage message = new ChatMessage();
+        message.setId(id);
+        message.setRoomId(ROOM_ID);
+        message.setSeq(seq);
+        message.setSender("user" + (seq % 3));
+        message.setContent("message " + seq);
+        message.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusSeconds(seq));
+        return message;
+    }
+
+    private static List<Long> seqs(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::getSeq).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.chatapp.chat_backend.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * AuditFileWriter 테스트: 한 줄 형식, 긴 값 자르기, 크기/날짜별 파일 교체, 오래된 파일 삭제
+ */
+class AuditFileWriterTest {
+
+    private static final long DAY_1 = LocalDate.of(2024, 3, 1).atTime(12, 0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long DAY_2 = DAY_1 + 24 * 60 * 60 * 1000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesOneTabSeparatedLinePerEvent() throws IOException {
+        try (AuditFileWriter writer = new AuditFileWriter(dir, 1 << 20, 10)) {
+            writer.append(slot(AuditEventType.LOGIN_FAILURE, DAY_1, "woogi", "/api/users/login", "bad_password"));
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, null, "/a\tb\nc", null));
+        }
+
+        List<String> lines = allLines();
+        assertEquals(List.of(
+                DAY_1 + "\tLOGIN_FAILURE\t401\t1500\twoogi\t10.0.0.1\tPOST\t/api/users/login\tbad_password",
+                DAY_1 + "\tACCESS\t401\t1500\t-\t10.0.0.1\tPOST\t/a_b_c\t-"), lines);
+    }
+
+    @Test
+    void truncatesOverlongLinesButKeepsOneLinePerEvent() throws IOException {
+        String longPath = "/" + "x".repeat(10_000);
+        try (AuditFileWriter writer = new AuditFileWriter(dir, 1 << 20, 10)) {
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "user", longPath, "detail"));
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "next", "/ok", null));
+        }
+
+        List<String> lines = allLines();
+        assertEquals(2, lines.size());
+        // 줄바꿈을 포함해 4096자
+        assertEquals(4095, lines.get(0).length());
+        assertTrue(lines.get(0).startsWith(DAY_1 + "\tACCESS\t"));
+        assertTrue(lines.get(1).endsWith("\tnext\t10.0.0.1\tPOST\t/ok\t-"));
+    }
+
+    @Test
+    void rollsBySizeAndByDayAndDeletesOldestFiles() throws IOException {
+        // 경로를 채워 한 줄을 정확히 100바이트로 맞춘다. (200바이트 = 2줄마다 새 파일)
+        String path = "/" + "p".repeat(46);
+        try (AuditFileWriter writer = new AuditFileWriter(dir, 200, 3)) {
+            for (int i = 0; i < 6; i++) {
+                writer.append(slot(AuditEventType.ACCESS, DAY_1 + i, "user" + i, path, null));
+            }
+            writer.append(slot(AuditEventType.ACCESS, DAY_2, "user6", path, null));
+        }
+
+        // day1 파일 0,1,2 와 day2 파일 0 중 가장 오래된 day1-0이 지워지고 3개만 남는다.
+        assertEquals(List.of("audit-20240301-1.log", "audit-20240301-2.log", "audit-20240302-0.log"), fileNames());
+        List<String> lastDay1 = Files.readAllLines(dir.resolve("audit-20240301-2.log"), StandardCharsets.UTF_8);
+        assertEquals(2, lastDay1.size());
+        assertEquals(99, lastDay1.get(0).length());
+        assertTrue(lastDay1.get(0).contains("\tuser4\t"));
+        assertTrue(lastDay1.get(1).contains("\tuser5\t"));
+        List<String> day2 = Files.readAllLines(dir.resolve("audit-20240302-0.log"), StandardCharsets.UTF_8);
+        assertEquals(1, day2.size());
+        assertTrue(day2.get(0).startsWith(DAY_2 + "\t"));
+    }
+
+    @Test
+    void restartAppendsToNewFileInsteadOfOverwriting() throws IOException {
+        try (AuditFileWriter writer = new AuditFileWriter(dir, 1 << 20, 10)) {
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "before", "/p", null));
+        }
+        try (AuditFileWriter writer = new AuditFileWriter(dir, 1 << 20, 10)) {
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "after", "/p", null));
+        }
+
+        assertEquals(List.of("audit-20240301-0.log", "audit-20240301-1.log"), fileNames());
+        assertEquals(2, allLines().size());
+    }
+
+    @Test
+    void countsEventsAsWrittenOnlyAfterFlushAndReportsDiscarded() throws IOException {
+        try (AuditFileWriter writer = new AuditFileWriter(dir, 1 << 20, 10)) {
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "a", "/p", null));
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "b", "/p", null));
+            assertEquals(0, writer.writtenCount());
+            writer.flush();
+            assertEquals(2, writer.writtenCount());
+
+            // 쓰기 실패 후 reset()은 아직 쓰지 않은 이벤트만 버린 것으로 돌려준다.
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "c", "/p", null));
+            assertEquals(1, writer.reset());
+            assertEquals(0, writer.reset());
+            assertEquals(2, writer.writtenCount());
+
+            writer.append(slot(AuditEventType.ACCESS, DAY_1, "d", "/p", null));
+            writer.flush();
+            assertEquals(3, writer.writtenCount());
+        }
+        assertEquals(3, allLines().size());
+    }
+
+    private static AuditRingBuffer.Slot slot(AuditEventType type, long timestamp, String username, String path,
+            String detail) {
+        AuditRingBuffer.Slot slot = new AuditRingBuffer.Slot();
+        slot.type = type;
+        slot.timestampMillis = timestamp;
+        slot.durationMicros = 1500;
+        slot.status = 401;
+        slot.username = username;
+        slot.remoteAddr = "10.0.0.1";
+        slot.method = "POST";
+        slot.path = path;
+        slot.detail = detail;
+        return slot;
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private List<String> allLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String name : fileNames()) {
+            lines.addAll(Files.readAllLines(dir.resolve(name), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+}
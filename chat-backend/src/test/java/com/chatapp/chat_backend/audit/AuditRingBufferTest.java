@@ -0,0 +1,122 @@
+package com.chatapp.chat_backend.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AuditRingBuffer 테스트: 순환(wraparound), 가득 찼을 때 버리기, 여러 생산자
+ */
+class AuditRingBufferTest {
+
+    @Test
+    void capacityMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(0));
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(6));
+    }
+
+    @Test
+    void wrapsAroundAndKeepsOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(publish(buffer, i));
+            assertTrue(publish(buffer, 100 + i));
+            assertEquals(2, buffer.size());
+
+            assertEquals(i, take(buffer));
+            assertEquals(100 + i, take(buffer));
+            assertNull(buffer.peek());
+        }
+        assertEquals(0, buffer.droppedCount());
+    }
+
+    @Test
+    void dropsAndCountsWhenFullInsteadOfWaiting() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(publish(buffer, i));
+        }
+        assertFalse(publish(buffer, 4));
+        assertFalse(publish(buffer, 5));
+        assertEquals(2, buffer.droppedCount());
+        assertEquals(4, buffer.size());
+
+        // 하나를 꺼내면 다시 자리가 생긴다.
+        assertEquals(0, take(buffer));
+        assertTrue(publish(buffer, 6));
+        assertEquals(List.of(1L, 2L, 3L, 6L), List.of(take(buffer), take(buffer), take(buffer), take(buffer)));
+        assertEquals(2, buffer.droppedCount());
+    }
+
+    @Test
+    void releaseClearsReferencesHeldBySlot() {
+        AuditRingBuffer buffer = new AuditRingBuffer(2);
+        publish(buffer, 1);
+        AuditRingBuffer.Slot slot = buffer.peek();
+        buffer.release(slot);
+        assertNull(slot.username);
+        assertNull(slot.path);
+    }
+
+    @Test
+    void concurrentProducersLoseNothingButCountedDrops() throws InterruptedException {
+        AuditRingBuffer buffer = new AuditRingBuffer(64);
+        int producers = 4;
+        int perProducer = 20000;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long base = p * 1_000_000L;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    publish(buffer, base + i);
+                }
+            });
+            threads.add(producer);
+            producer.start();
+        }
+
+        // 소비자: 생산자별로 받은 값이 증가하는 순서인지 확인한다.
+        long[] lastPerProducer = new long[producers];
+        Arrays.fill(lastPerProducer, -1);
+        long consumed = 0;
+        while (threads.stream().anyMatch(Thread::isAlive) || buffer.peek() != null) {
+            AuditRingBuffer.Slot slot = buffer.peek();
+            if (slot == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long value = slot.durationMicros;
+            buffer.release(slot);
+            int producer = (int) (value / 1_000_000L);
+            assertTrue(value % 1_000_000L > lastPerProducer[producer], "생산자별 순서가 바뀜");
+            lastPerProducer[producer] = value % 1_000_000L;
+            consumed++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer, consumed + buffer.droppedCount());
+    }
+
+    private static boolean publish(AuditRingBuffer buffer, long value) {
+        return buffer.publish(AuditEventType.ACCESS, 0L, value, 200, "user" + value, "127.0.0.1", "GET", "/path",
+                null);
+    }
+
+    private static long take(AuditRingBuffer buffer) {
+        AuditRingBuffer.Slot slot = buffer.peek();
+        long value = slot.durationMicros;
+        buffer.release(slot);
+        return value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.chatapp.chat_backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * AttachmentController.parseRange 테스트 (Range 헤더 해석)
+ */
+class AttachmentControllerTest {
+
+    @Test
+    void parsesClosedRange() {
+        assertArrayEquals(new long[] { 0, 99 }, AttachmentController.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[] { 500, 500 }, AttachmentController.parseRange("bytes= 500 - 500 ", 1000));
+    }
+
+    @Test
+    void clampsEndToLastByte() {
+        assertArrayEquals(new long[] { 900, 999 }, AttachmentController.parseRange("bytes=900-5000", 1000));
+        assertArrayEquals(new long[] { 900, 999 }, AttachmentController.parseRange("bytes=900-", 1000));
+    }
+
+    @Test
+    void parsesSuffixRange() {
+        assertArrayEquals(new long[] { 900, 999 }, AttachmentController.parseRange("bytes=-100", 1000));
+        // 파일보다 긴 suffix는 파일 전체
+        assertArrayEquals(new long[] { 0, 999 }, AttachmentController.parseRange("bytes=-5000", 1000));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRanges() {
+        assertNull(AttachmentController.parseRange("bytes=1000-", 1000)); // 시작이 파일 끝 이후
+        assertNull(AttachmentController.parseRange("bytes=500-100", 1000)); // 끝 < 시작
+        assertNull(AttachmentController.parseRange("bytes=-0", 1000));
+        assertNull(AttachmentController.parseRange("bytes=0-10", 0)); // 빈 파일
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        assertNull(AttachmentController.parseRange("items=0-10", 1000));
+        assertNull(AttachmentController.parseRange("bytes=10", 1000));
+        assertNull(AttachmentController.parseRange("bytes=a-b", 1000));
+        assertNull(AttachmentController.parseRange("bytes=-", 1000));
+    }
+}
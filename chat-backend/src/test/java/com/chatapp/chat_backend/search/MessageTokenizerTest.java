@@ -0,0 +1,47 @@
+package com.chatapp.chat_backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * MessageTokenizer 테스트: 한글 bigram / 영어 단어 분리
+ */
+class MessageTokenizerTest {
+
+    @Test
+    void splitsRunsByScriptAndLowercasesLatin() {
+        assertEquals(List.of("hello", "world", "회의는", "3", "시"),
+                MessageTokenizer.runs("Hello, World! 회의는 3시"));
+        // 띄어쓰기 없이 붙어 있어도 문자 종류가 바뀌면 나눈다.
+        assertEquals(List.of("spring", "회의", "2024"), MessageTokenizer.runs("Spring회의2024"));
+        assertEquals(List.of(), MessageTokenizer.runs(null));
+        assertEquals(List.of(), MessageTokenizer.runs("... !!"));
+    }
+
+    @Test
+    void indexTermsIncludeHangulUnigramsAndBigrams() {
+        assertEquals(Set.of("안", "녕", "하", "세", "요", "안녕", "녕하", "하세", "세요"),
+                MessageTokenizer.indexTerms("안녕하세요"));
+        assertEquals(Set.of("meeting", "at", "회", "의", "회의"), MessageTokenizer.indexTerms("Meeting at 회의"));
+    }
+
+    @Test
+    void queryTermsUseBigramsExceptForSingleCharacterRuns() {
+        assertEquals(Set.of("회의"), MessageTokenizer.queryTerms("회의"));
+        assertEquals(Set.of("회"), MessageTokenizer.queryTerms("회"));
+        assertEquals(Set.of("내일", "일회", "회의", "zoom"), MessageTokenizer.queryTerms("내일회의 ZOOM"));
+    }
+
+    @Test
+    void particleAttachedWordsShareTheStemBigram() {
+        // 조사가 붙어도("회의는", "회의를") "회의" bigram으로 찾을 수 있다.
+        Set<String> query = MessageTokenizer.queryTerms("회의");
+        assertTrue(MessageTokenizer.indexTerms("오늘 회의는 취소").containsAll(query));
+        assertTrue(MessageTokenizer.indexTerms("회의를 시작합니다").containsAll(query));
+    }
+}
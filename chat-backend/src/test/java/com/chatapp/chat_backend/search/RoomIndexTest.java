@@ -0,0 +1,112 @@
+package com.chatapp.chat_backend.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * RoomIndex 테스트: live/sealed 세그먼트에 걸친 교집합, 중복 색인, 이어서 찾기, 문서 번호 범위
+ */
+class RoomIndexTest {
+
+    @Test
+    void intersectsPostingsAcrossLiveAndSealedSegmentsNewestFirst() {
+        // 3개마다 봉인: 101~103, 104~106은 sealed, 107~108은 live
+        RoomIndex index = new RoomIndex(3, 101);
+        index.add(101, Set.of("a", "b"));
+        index.add(102, Set.of("a"));
+        index.add(103, Set.of("a", "b", "c"));
+        index.add(104, Set.of("b"));
+        index.add(105, Set.of("a", "b"));
+        index.add(106, Set.of("c"));
+        index.add(107, Set.of("a", "b"));
+        index.add(108, Set.of("a"));
+
+        assertArrayEquals(new long[] { 107, 105, 103, 101 }, index.search(List.of("a", "b"), 10, Long.MAX_VALUE));
+        assertArrayEquals(new long[] { 107, 105 }, index.search(List.of("a", "b"), 2, Long.MAX_VALUE));
+        assertArrayEquals(new long[] { 103 }, index.search(List.of("a", "b", "c"), 10, Long.MAX_VALUE));
+        assertArrayEquals(new long[0], index.search(List.of("a", "없음"), 10, Long.MAX_VALUE));
+    }
+
+    @Test
+    void duplicatesFromRebuildAreReturnedOnce() {
+        RoomIndex index = new RoomIndex(2, 10);
+        // 실시간으로 먼저 색인된 메시지를 재색인이 다시 추가하는 경우 (서로 다른 세그먼트에 들어간다)
+        index.add(12, Set.of("hello"));
+        index.add(13, Set.of("hello"));
+        index.add(10, Set.of("hello"));
+        index.add(12, Set.of("hello"));
+        index.add(13, Set.of("hello"));
+
+        assertArrayEquals(new long[] { 13, 12, 10 }, index.search(List.of("hello"), 10, Long.MAX_VALUE));
+
+        // 합친 뒤에도 같은 결과
+        assertTrue(index.merge(2));
+        assertArrayEquals(new long[] { 13, 12, 10 }, index.search(List.of("hello"), 10, Long.MAX_VALUE));
+    }
+
+    @Test
+    void mergesOnlySimilarSizedSegmentsAndLeavesLargerOnesAlone() {
+        // 1개마다 봉인, 같은 등급 3개가 모이면 합친다.
+        RoomIndex index = new RoomIndex(1, 1);
+        for (long id = 1; id <= 3; id++) {
+            index.add(id, Set.of("x"));
+        }
+        assertTrue(index.merge(3));
+        assertArrayEquals(new int[] { 3 }, index.segmentSizes());
+
+        index.add(4, Set.of("x"));
+        index.add(5, Set.of("x"));
+        // 작은 세그먼트가 2개뿐이므로 합치지 않는다.
+        assertFalse(index.merge(3));
+        assertArrayEquals(new int[] { 3, 1, 1 }, index.segmentSizes());
+
+        index.add(6, Set.of("x"));
+        // 작은 3개만 합치고 앞의 큰 세그먼트는 다시 쓰지 않는다.
+        assertTrue(index.merge(3));
+        assertArrayEquals(new int[] { 3, 3 }, index.segmentSizes());
+
+        for (long id = 7; id <= 9; id++) {
+            index.add(id, Set.of("x"));
+        }
+        // 같은 등급이 3개가 되면 이어서 한 단계 위로 합친다.
+        assertTrue(index.merge(3));
+        assertArrayEquals(new int[] { 9 }, index.segmentSizes());
+        assertArrayEquals(new long[] { 9, 8, 7, 6, 5, 4, 3, 2, 1 },
+                index.search(List.of("x"), 20, Long.MAX_VALUE));
+    }
+
+    @Test
+    void beforeIdContinuesFromLastResult() {
+        RoomIndex index = new RoomIndex(4, 1);
+        for (long id = 1; id <= 10; id++) {
+            index.add(id, Set.of("x"));
+        }
+
+        assertArrayEquals(new long[] { 10, 9, 8 }, index.search(List.of("x"), 3, Long.MAX_VALUE));
+        assertArrayEquals(new long[] { 7, 6, 5 }, index.search(List.of("x"), 3, 8));
+        assertArrayEquals(new long[] { 2, 1 }, index.search(List.of("x"), 3, 3));
+        assertArrayEquals(new long[0], index.search(List.of("x"), 3, 1));
+    }
+
+    @Test
+    void messageIdsBeyondIntRangeAreIndexedRelativeToRoomBase() {
+        long base = 5_000_000_000L;
+        RoomIndex index = new RoomIndex(100, base);
+
+        assertTrue(index.add(base + 5, Set.of("x")));
+        // 기준 id보다 앞선 메시지 (재색인이 나중에 추가한 옛 메시지)
+        assertTrue(index.add(base - 3, Set.of("x")));
+        assertArrayEquals(new long[] { base + 5, base - 3 }, index.search(List.of("x"), 10, Long.MAX_VALUE));
+
+        // 방 안의 id 차이가 int 범위를 넘으면 색인하지 않는다고 알린다.
+        assertFalse(index.add(base + Integer.MAX_VALUE + 1L, Set.of("x")));
+        assertTrue(index.add(base + Integer.MAX_VALUE, Set.of("x")));
+        assertArrayEquals(new long[] { base + Integer.MAX_VALUE }, index.search(List.of("x"), 1, Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,117 @@
+package com.chatapp.chat_backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chatapp.chat_backend.dto.ChatMessageResponseDTO;
+
+/**
+ * RoomSequenceLog.RoomLog의 committedSeq(빈틈 없는 저장 완료 지점) 동작 테스트
+ */
+class RoomSequenceLogTest {
+
+    @Test
+    void laterSeqWaitsUntilEarlierSeqIsCommitted() {
+        RoomSequenceLog.RoomLog log = new RoomSequenceLog.RoomLog(0, 16);
+        List<Long> published = new ArrayList<>();
+
+        long first = log.nextSeq();
+        long second = log.nextSeq();
+        log.commit(message(second), m -> published.add(m.getSeq()));
+
+        // 1번이 아직 저장 중이므로 2번은 전달도, 재접속 조회도 되지 않는다.
+        assertEquals(List.of(), published);
+        assertEquals(0, log.committedSeq());
+        assertEquals(List.of(), seqs(log.since(0)));
+
+        log.commit(message(first), m -> published.add(m.getSeq()));
+        assertEquals(List.of(1L, 2L), published);
+        assertEquals(2, log.committedSeq());
+        assertEquals(List.of(1L, 2L), seqs(log.since(0)));
+    }
+
+    @Test
+    void skippedSeqDoesNotBlockLaterMessages() {
+        RoomSequenceLog.RoomLog log = new RoomSequenceLog.RoomLog(0, 16);
+        List<Long> published = new ArrayList<>();
+
+        long failed = log.nextSeq();
+        long stored = log.nextSeq();
+        log.commit(message(stored), m -> published.add(m.getSeq()));
+        log.skip(failed, m -> published.add(m.getSeq()));
+
+        assertEquals(List.of(2L), published);
+        assertEquals(2, log.committedSeq());
+        assertEquals(List.of(2L), seqs(log.since(0)));
+    }
+
+    @Test
+    void sinceReturnsNullWhenGapWasEvictedFromBuffer() {
+        RoomSequenceLog.RoomLog log = new RoomSequenceLog.RoomLog(0, 4);
+        for (int i = 0; i < 6; i++) {
+            log.commit(message(log.nextSeq()), m -> {
+            });
+        }
+
+        assertNull(log.since(0));
+        assertEquals(List.of(3L, 4L, 5L, 6L), seqs(log.since(2)));
+    }
+
+    @Test
+    void sinceReturnsNullForSeqsBeforeRestart() {
+        // 재시작 직후: 10번까지는 DB에만 있다.
+        RoomSequenceLog.RoomLog log = new RoomSequenceLog.RoomLog(10, 16);
+        log.commit(message(log.nextSeq()), m -> {
+        });
+
+        assertNull(log.since(5));
+        assertEquals(List.of(11L), seqs(log.since(10)));
+    }
+
+    @Test
+    void concurrentSendersArePublishedInSeqOrder() throws InterruptedException {
+        RoomSequenceLog.RoomLog log = new RoomSequenceLog.RoomLog(0, 256);
+        List<Long> published = Collections.synchronizedList(new ArrayList<>());
+        int threads = 8;
+        int perThread = 1000;
+
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread sender = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    long seq = log.nextSeq();
+                    if (seq % 7 == 0) {
+                        Thread.yield(); // 저장이 늦어지는 경우
+                    }
+                    log.commit(message(seq), m -> published.add(m.getSeq()));
+                }
+            });
+            senders.add(sender);
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        assertEquals(threads * perThread, published.size());
+        for (int i = 0; i < published.size(); i++) {
+            assertEquals(i + 1, published.get(i));
+        }
+        assertEquals(threads * perThread, log.committedSeq());
+    }
+
+    private static ChatMessageResponseDTO message(long seq) {
+        return new ChatMessageResponseDTO(1L, seq, "user", "message " + seq, null, LocalDateTime.now());
+    }
+
+    private static List<Long> seqs(List<ChatMessageResponseDTO> messages) {
+        return messages.stream().map(ChatMessageResponseDTO::getSeq).toList();
+    }
+}